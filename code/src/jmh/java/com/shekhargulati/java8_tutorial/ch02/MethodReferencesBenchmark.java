@@ -0,0 +1,48 @@
+package com.shekhargulati.java8_tutorial.ch02;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MethodReferencesBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        names = IntStream.range(0, size).mapToObj(i -> "name " + i).collect(toList());
+    }
+
+    @Benchmark
+    public List<Integer> transform() {
+        return Example4_MethodReferences.transform(names, String::length);
+    }
+
+    @Benchmark
+    public int[] transformToInt() {
+        return Example4_MethodReferences.transformToInt(names, String::length);
+    }
+
+    @Benchmark
+    public int[] parallelTransformToInt() {
+        return Example4_MethodReferences.parallelTransformToInt(names, String::length);
+    }
+
+    @Benchmark
+    public int[] streamMapToInt() {
+        return names.stream().mapToInt(String::length).toArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.TaskStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColumnarExamplesBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private TaskStore store;
+
+    private ColumnarExamples examples;
+
+    @Setup
+    public void setUp() {
+        store = TaskStore.of(getTasks(size));
+        examples = new ColumnarExamples();
+    }
+
+    @Benchmark
+    public List<String> allReadingTasks() {
+        return examples.allReadingTasks(store);
+    }
+
+    @Benchmark
+    public List<String> topN() {
+        return examples.topN(store, 10);
+    }
+
+    @Benchmark
+    public long countAllReadingTasks() {
+        return examples.countAllReadingTasks(store);
+    }
+
+    @Benchmark
+    public List<String> allDistinctTags() {
+        return examples.allDistinctTags(store);
+    }
+
+    @Benchmark
+    public boolean isAllReadingTasksWithTagBooks() {
+        return examples.isAllReadingTasksWithTagBooks(store);
+    }
+
+    @Benchmark
+    public boolean isAnyReadingTasksWithTagJava8() {
+        return examples.isAnyReadingTasksWithTagJava8(store);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Example1Benchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = getTasks(size);
+    }
+
+    @Benchmark
+    public List<String> java7() {
+        return Example1_Java7.readingTaskTitles(tasks);
+    }
+
+    @Benchmark
+    public List<String> stream() {
+        return Example1_Stream.readingTaskTitles(tasks);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.ImmutableTask;
+import com.shekhargulati.java8_tutorial.domain.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExamplesBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<Task> tasks;
+
+    private List<ImmutableTask> immutableTasks;
+
+    private Examples examples;
+
+    @Setup
+    public void setUp() {
+        tasks = getTasks(size);
+        immutableTasks = tasks.stream().map(ImmutableTask::of).collect(toList());
+        examples = new Examples(parallel);
+    }
+
+    @Benchmark
+    public List<String> allReadingTasks() {
+        return examples.allReadingTasks(tasks);
+    }
+
+    @Benchmark
+    public List<String> allReadingTasksSortedByCreatedOnDesc() {
+        return examples.allReadingTasksSortedByCreatedOnDesc(tasks);
+    }
+
+    @Benchmark
+    public List<Task> allDistinctTasks() {
+        return examples.allDistinctTasks(tasks);
+    }
+
+    @Benchmark
+    public List<ImmutableTask> allDistinctImmutableTasks() {
+        return examples.allDistinctImmutableTasks(immutableTasks);
+    }
+
+    @Benchmark
+    public List<String> topN() {
+        return examples.topN(tasks, 10);
+    }
+
+    @Benchmark
+    public long countAllReadingTasks() {
+        return examples.countAllReadingTasks(tasks);
+    }
+
+    @Benchmark
+    public List<String> allDistinctTags() {
+        return examples.allDistinctTags(tasks);
+    }
+
+    @Benchmark
+    public boolean isAllReadingTasksWithTagBooks() {
+        return examples.isAllReadingTasksWithTagBooks(tasks);
+    }
+
+    @Benchmark
+    public boolean isAnyReadingTasksWithTagJava8() {
+        return examples.isAnyReadingTasksWithTagJava8(tasks);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.joining;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JoinAllTaskTitlesBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<Task> tasks;
+
+    private Examples examples;
+
+    @Setup
+    public void setUp() {
+        tasks = getTasks(size);
+        examples = new Examples(parallel);
+    }
+
+    @Benchmark
+    public String joinAllTaskTitles() {
+        return examples.joinAllTaskTitles(tasks);
+    }
+
+    @Benchmark
+    public String collectorsJoining() {
+        return (parallel ? tasks.parallelStream() : tasks.stream()).map(Task::getTitle).collect(joining(" *** "));
+    }
+
+    @Benchmark
+    public void writeAllTaskTitles() throws IOException {
+        try (Writer writer = new NullWriter()) {
+            examples.writeAllTaskTitles(tasks, writer);
+        }
+    }
+
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollectorsBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = getTasks(size);
+    }
+
+    @Benchmark
+    public Map<TaskType, List<Task>> jdkGroupingByType() {
+        return stream().collect(groupingBy(Task::getType));
+    }
+
+    @Benchmark
+    public Map<TaskType, List<Task>> groupingByEnumType() {
+        return stream().collect(MoreCollectors.groupingByEnum(TaskType.class, Task::getType));
+    }
+
+    @Benchmark
+    public Map<TaskType, Long> jdkCountingByType() {
+        return stream().collect(groupingBy(Task::getType, counting()));
+    }
+
+    @Benchmark
+    public Map<TaskType, Long> countingByEnumType() {
+        return stream().collect(MoreCollectors.countingByEnum(TaskType.class, Task::getType));
+    }
+
+    @Benchmark
+    public Map<TaskType, Long> countingByEnumTypeConcurrent() {
+        return stream().collect(MoreCollectors.countingByEnumConcurrent(TaskType.class, Task::getType));
+    }
+
+    @Benchmark
+    public Map<String, Long> jdkCountingByTag() {
+        return stream().flatMap(task -> task.getTags().stream()).collect(groupingBy(tag -> tag, counting()));
+    }
+
+    @Benchmark
+    public WordCountTable countingByTag() {
+        return stream().flatMap(task -> task.getTags().stream()).collect(MoreCollectors.countingBy(tag -> tag));
+    }
+
+    @Benchmark
+    public Map<String, Long> countingByTagConcurrent() {
+        return stream().flatMap(task -> task.getTags().stream()).collect(MoreCollectors.countingByConcurrent(tag -> tag));
+    }
+
+    @Benchmark
+    public int jdkDistinctTitles() {
+        return stream().map(Task::getTitle).collect(toSet()).size();
+    }
+
+    @Benchmark
+    public long hyperLogLogDistinctTitles() {
+        return stream().collect(MoreCollectors.distinctCount(Task::getTitle)).estimate();
+    }
+
+    @Benchmark
+    public IntSummaryStatistics jdkTitleLengthStatistics() {
+        return stream().collect(summarizingInt(task -> task.getTitle().length()));
+    }
+
+    @Benchmark
+    public double titleLengthMedian() {
+        return stream().collect(MoreCollectors.quantiles(task -> task.getTitle().length())).quantile(0.5);
+    }
+
+    private Stream<Task> stream() {
+        return parallel ? tasks.parallelStream() : tasks.stream();
+    }
+}
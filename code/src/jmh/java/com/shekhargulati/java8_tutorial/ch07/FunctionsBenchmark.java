@@ -0,0 +1,95 @@
+package com.shekhargulati.java8_tutorial.ch07;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FunctionsBenchmark {
+
+    private final Function<Integer, Long> collatzSteps = FunctionsBenchmark::collatzSteps;
+    private final Function<Integer, Long> memoizedCollatzSteps = Functions.memoize(collatzSteps, 1024);
+
+    private final Supplier<Long> lazyCollatzSteps = Functions.lazy(() -> collatzSteps(837799));
+
+    private final IntUnaryOperator composed = ((IntUnaryOperator) i -> i * 31).andThen(i -> i ^ (i >>> 7)).andThen(i -> i + 17).andThen(i -> i & 0xffff);
+    private final IntUnaryOperator chained = Functions.chain(i -> i * 31, i -> i ^ (i >>> 7), i -> i + 17, i -> i & 0xffff);
+
+    private final Predicate<String> composedPredicate = ((Predicate<String>) s -> !s.isEmpty()).and(s -> s.startsWith("s")).and(s -> s.length() < 10);
+    private final Predicate<String> fusedPredicate = Functions.allOf(s -> !s.isEmpty(), s -> s.startsWith("s"), s -> s.length() < 10);
+
+    private int input;
+    private String name = "shekhar";
+
+    // cycles through 1024 inputs so the memoized function keeps hitting its cache while the rest can't fold a constant
+    private int nextInput() {
+        input = (input + 1) & 1023;
+        return input;
+    }
+
+    @Benchmark
+    public long collatzStepsHandWritten() {
+        return collatzSteps.apply(nextInput());
+    }
+
+    @Benchmark
+    public long collatzStepsMemoized() {
+        return memoizedCollatzSteps.apply(nextInput());
+    }
+
+    @Benchmark
+    public long lazySupplier() {
+        return lazyCollatzSteps.get();
+    }
+
+    @Benchmark
+    public int intOperatorsAndThen() {
+        return composed.applyAsInt(nextInput());
+    }
+
+    @Benchmark
+    public int intOperatorsChained() {
+        return chained.applyAsInt(nextInput());
+    }
+
+    @Benchmark
+    public int intOperatorsHandWritten() {
+        int i = nextInput() * 31;
+        i = i ^ (i >>> 7);
+        return (i + 17) & 0xffff;
+    }
+
+    @Benchmark
+    public boolean predicatesAnd() {
+        return composedPredicate.test(name);
+    }
+
+    @Benchmark
+    public boolean predicatesFused() {
+        return fusedPredicate.test(name);
+    }
+
+    @Benchmark
+    public boolean predicatesHandWritten() {
+        return !name.isEmpty() && name.startsWith("s") && name.length() < 10;
+    }
+
+    private static long collatzSteps(int start) {
+        long n = start + 1;
+        long steps = 0;
+        while (n != 1) {
+            n = (n & 1) == 0 ? n / 2 : 3 * n + 1;
+            steps++;
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,49 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.jmh.annotations.*;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScriptServiceBenchmark {
+
+    private final Map<String, Object> variables = new LinkedHashMap<>();
+
+    private ScriptEngine engine;
+    private ScriptService service;
+
+    @Setup
+    public void setUp() {
+        variables.put("a", 10);
+        variables.put("b", 20);
+        engine = new NashornScriptEngineFactory().getScriptEngine();
+        service = ScriptService.create(1);
+    }
+
+    @Benchmark
+    public Object evalWithoutCache() throws ScriptException {
+        return engine.eval("a + b", new SimpleBindings(new LinkedHashMap<>(variables)));
+    }
+
+    @Benchmark
+    public Object evalWithCache() throws ScriptException {
+        return service.eval("a + b", variables);
+    }
+
+    // declares a global, so the pooled engine has to replace its scope after every call
+    @Benchmark
+    public Object evalDeclaringAGlobalWithCache() throws ScriptException {
+        return service.eval("var sum = a + b; sum", variables);
+    }
+}
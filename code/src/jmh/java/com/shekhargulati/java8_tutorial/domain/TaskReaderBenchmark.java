@@ -0,0 +1,54 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import com.shekhargulati.java8_tutorial.utils.DataUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskReaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("tasks", ".bin");
+        try (TaskWriter writer = TaskWriter.create(file)) {
+            DataUtils.getTasks(size).forEach(writer::write);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public List<Task> getTasks() {
+        return DataUtils.getTasks(size);
+    }
+
+    @Benchmark
+    public List<Task> bulkLoad() throws IOException {
+        return TaskReader.load(file);
+    }
+
+    @Benchmark
+    public long parallelStream() throws IOException {
+        try (TaskReader reader = TaskReader.open(file)) {
+            return reader.stream().parallel().filter(task -> task.getType() == TaskType.READING).count();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.shekhargulati.java8_tutorial.utils;
+
+import com.shekhargulati.java8_tutorial.ch04.WordCount;
+import com.shekhargulati.java8_tutorial.ch04.WordCountTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LinesBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int lines;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("lines", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("the quick brown fox " + (i % 1000) + " jumps over the lazy dog");
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public Map<String, Long> filesLinesParallelWordCount() throws IOException {
+        try (Stream<String> stream = Files.lines(file)) {
+            return wordCount(stream.parallel());
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> mappedLinesParallelWordCount() throws IOException {
+        return wordCount(MappedLines.lines(file).parallel());
+    }
+
+    @Benchmark
+    public WordCountTable mappedLinesParallelWordCountTable() throws IOException {
+        return MappedLines.lines(file).parallel().collect(WordCount.wordCount());
+    }
+
+    private Map<String, Long> wordCount(Stream<String> lines) {
+        return lines.flatMap(line -> Stream.of(line.split(" "))).collect(groupingBy(identity(), counting()));
+    }
+}
@@ -1,8 +1,20 @@
 package com.shekhargulati.java8_tutorial.ch01;
 
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.shekhargulati.java8_tutorial.ch01.Calculator.checkLengths;
+
+/**
+ * The bulk operations are written as plain counted loops over the arrays, which the JIT can unroll and
+ * vectorize. Arrays of at least {@link #PARALLEL_THRESHOLD} elements are processed by parallel streams.
+ */
 class BasicCalculator implements Calculator {
 
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
     @Override
     public int add(int first, int second) {
         return first + second;
@@ -25,4 +37,132 @@ class BasicCalculator implements Calculator {
     public int multiply(int first, int second) {
         return first * second;
     }
+
+    @Override
+    public int remainder(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        return number % divisor;
+    }
+
+    @Override
+    public void addAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> first[i] + second[i]);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = first[i] + second[i];
+        }
+    }
+
+    @Override
+    public void subtractAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> first[i] - second[i]);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = first[i] - second[i];
+        }
+    }
+
+    @Override
+    public void multiplyAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> first[i] * second[i]);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = first[i] * second[i];
+        }
+    }
+
+    @Override
+    public void divideAll(int[] numbers, int[] divisors, int[] out) {
+        checkLengths(numbers.length, divisors.length, out.length);
+        checkNoZero(divisors);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> numbers[i] / divisors[i]);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = numbers[i] / divisors[i];
+        }
+    }
+
+    @Override
+    public void remainderAll(int[] numbers, int[] divisors, int[] out) {
+        checkLengths(numbers.length, divisors.length, out.length);
+        checkNoZero(divisors);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> numbers[i] % divisors[i]);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = numbers[i] % divisors[i];
+        }
+    }
+
+    @Override
+    public long sum(int[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) {
+            return IntStream.of(values).parallel().asLongStream().sum();
+        }
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public void addAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> Math.addExact(first[i], second[i]));
+            return;
+        }
+        Calculator.super.addAll(first, second, out);
+    }
+
+    @Override
+    public void subtractAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> Math.subtractExact(first[i], second[i]));
+            return;
+        }
+        Calculator.super.subtractAll(first, second, out);
+    }
+
+    @Override
+    public void multiplyAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        if (out.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(out, i -> Math.multiplyExact(first[i], second[i]));
+            return;
+        }
+        Calculator.super.multiplyAll(first, second, out);
+    }
+
+    @Override
+    public long sum(long[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) {
+            return LongStream.of(values).parallel().collect(ExactLongSum::new, ExactLongSum::add, ExactLongSum::combine).value();
+        }
+        return Calculator.super.sum(values);
+    }
+
+    private static void checkNoZero(int[] divisors) {
+        for (int divisor : divisors) {
+            if (divisor == 0) {
+                throw new IllegalArgumentException("divisor can't be zero.");
+            }
+        }
+    }
 }
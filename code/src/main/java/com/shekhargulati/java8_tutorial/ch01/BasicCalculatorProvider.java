@@ -0,0 +1,22 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class BasicCalculatorProvider implements CalculatorProvider {
+
+    @Override
+    public String name() {
+        return "basic";
+    }
+
+    @Override
+    public Set<Capability> capabilities() {
+        return EnumSet.of(Capability.WRAPPING);
+    }
+
+    @Override
+    public Calculator create() {
+        return new BasicCalculator();
+    }
+}
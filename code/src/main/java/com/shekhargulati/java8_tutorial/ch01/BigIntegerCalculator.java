@@ -0,0 +1,33 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.math.BigInteger;
+
+/**
+ * Computes with {@link BigInteger}, so a result that doesn't fit in an int throws {@link ArithmeticException}
+ * instead of wrapping around.
+ */
+class BigIntegerCalculator implements Calculator {
+
+    @Override
+    public int add(int first, int second) {
+        return BigInteger.valueOf(first).add(BigInteger.valueOf(second)).intValueExact();
+    }
+
+    @Override
+    public int subtract(int first, int second) {
+        return BigInteger.valueOf(first).subtract(BigInteger.valueOf(second)).intValueExact();
+    }
+
+    @Override
+    public int divide(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        return BigInteger.valueOf(number).divide(BigInteger.valueOf(divisor)).intValueExact();
+    }
+
+    @Override
+    public int multiply(int first, int second) {
+        return BigInteger.valueOf(first).multiply(BigInteger.valueOf(second)).intValueExact();
+    }
+}
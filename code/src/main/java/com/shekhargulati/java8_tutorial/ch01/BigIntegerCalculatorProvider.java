@@ -0,0 +1,22 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class BigIntegerCalculatorProvider implements CalculatorProvider {
+
+    @Override
+    public String name() {
+        return "big-integer";
+    }
+
+    @Override
+    public Set<Capability> capabilities() {
+        return EnumSet.of(Capability.ARBITRARY_PRECISION);
+    }
+
+    @Override
+    public Calculator create() {
+        return new BigIntegerCalculator();
+    }
+}
@@ -3,7 +3,7 @@ package com.shekhargulati.java8_tutorial.ch01;
 public interface Calculator {
 
     static Calculator getInstance() {
-        return new BasicCalculator();
+        return CalculatorFactory.getInstance();
     }
 
     int add(int first, int second);
@@ -17,4 +17,99 @@ public interface Calculator {
     default int remainder(int number, int divisor) {
         return subtract(number, multiply(divisor, divide(number, divisor)));
     }
+
+    default void addAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = add(first[i], second[i]);
+        }
+    }
+
+    default void subtractAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = subtract(first[i], second[i]);
+        }
+    }
+
+    default void multiplyAll(int[] first, int[] second, int[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = multiply(first[i], second[i]);
+        }
+    }
+
+    default void divideAll(int[] numbers, int[] divisors, int[] out) {
+        checkLengths(numbers.length, divisors.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = divide(numbers[i], divisors[i]);
+        }
+    }
+
+    default void remainderAll(int[] numbers, int[] divisors, int[] out) {
+        checkLengths(numbers.length, divisors.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = remainder(numbers[i], divisors[i]);
+        }
+    }
+
+    /**
+     * Sums into a long so the sum of many ints can't overflow.
+     */
+    default long sum(int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * @throws ArithmeticException if a result overflows a long
+     */
+    default void addAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Math.addExact(first[i], second[i]);
+        }
+    }
+
+    /**
+     * @throws ArithmeticException if a result overflows a long
+     */
+    default void subtractAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Math.subtractExact(first[i], second[i]);
+        }
+    }
+
+    /**
+     * @throws ArithmeticException if a result overflows a long
+     */
+    default void multiplyAll(long[] first, long[] second, long[] out) {
+        checkLengths(first.length, second.length, out.length);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Math.multiplyExact(first[i], second[i]);
+        }
+    }
+
+    /**
+     * Intermediate sums may overflow as long as the final sum fits in a long.
+     *
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    default long sum(long[] values) {
+        ExactLongSum sum = new ExactLongSum();
+        for (long value : values) {
+            sum.add(value);
+        }
+        return sum.value();
+    }
+
+    static void checkLengths(int first, int second, int out) {
+        if (first != out || second != out) {
+            throw new IllegalArgumentException("arrays must have the same length.");
+        }
+    }
 }
@@ -1,8 +1,74 @@
 package com.shekhargulati.java8_tutorial.ch01;
 
+import com.shekhargulati.java8_tutorial.ch01.CalculatorProvider.Capability;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link Calculator} implementations found through {@link CalculatorProvider} services.
+ * Each implementation is created once and shared. The default one is <code>basic</code>, set the
+ * <code>calculator.implementation</code> system property to the name of another provider to swap it.
+ */
 public abstract class CalculatorFactory {
 
+    public static final String IMPLEMENTATION_PROPERTY = "calculator.implementation";
+
+    private static final String DEFAULT_IMPLEMENTATION = "basic";
+
+    private static final Map<String, CalculatorProvider> PROVIDERS = loadProviders();
+
+    private static final Map<String, Calculator> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * @throws IllegalArgumentException if <code>calculator.implementation</code> names no known provider
+     */
     public static Calculator getInstance() {
-        return new BasicCalculator();
+        Calculator instance = DefaultHolder.INSTANCE;
+        if (instance == null) {
+            throw new IllegalArgumentException("No calculator named " + DefaultHolder.NAME + " in system property "
+                    + IMPLEMENTATION_PROPERTY + ", available: " + PROVIDERS.keySet());
+        }
+        return instance;
+    }
+
+    public static Calculator getInstance(String name) {
+        return INSTANCES.computeIfAbsent(name, n -> {
+            CalculatorProvider provider = PROVIDERS.get(n);
+            if (provider == null) {
+                throw new IllegalArgumentException("No calculator named " + n + ", available: " + PROVIDERS.keySet());
+            }
+            return provider.create();
+        });
+    }
+
+    public static Calculator getInstance(Capability capability) {
+        return PROVIDERS.values().stream()
+                .filter(provider -> provider.capabilities().contains(capability))
+                .findFirst()
+                .map(provider -> getInstance(provider.name()))
+                .orElseThrow(() -> new IllegalArgumentException("No calculator with capability " + capability));
+    }
+
+    public static Map<String, CalculatorProvider> providers() {
+        return Collections.unmodifiableMap(PROVIDERS);
+    }
+
+    private static Map<String, CalculatorProvider> loadProviders() {
+        Map<String, CalculatorProvider> providers = new LinkedHashMap<>();
+        for (CalculatorProvider provider : ServiceLoader.load(CalculatorProvider.class, CalculatorFactory.class.getClassLoader())) {
+            providers.putIfAbsent(provider.name(), provider);
+        }
+        return providers;
+    }
+
+    // initialized on first use, after which the JIT treats the instance as a constant. An unknown name leaves it
+    // null instead of failing the class initialization, which would only ever surface as an Error
+    private static class DefaultHolder {
+        private static final String NAME = System.getProperty(IMPLEMENTATION_PROPERTY, DEFAULT_IMPLEMENTATION);
+        private static final Calculator INSTANCE = PROVIDERS.containsKey(NAME) ? getInstance(NAME) : null;
     }
 }
@@ -0,0 +1,39 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.Set;
+
+/**
+ * Service provider interface for {@link Calculator} implementations. Providers are discovered with
+ * {@link java.util.ServiceLoader} from <code>META-INF/services</code> by {@link CalculatorFactory}.
+ */
+public interface CalculatorProvider {
+
+    enum Capability {
+        /**
+         * Results wrap around on overflow, like Java's int arithmetic.
+         */
+        WRAPPING,
+        /**
+         * Overflow throws {@link ArithmeticException}.
+         */
+        EXACT,
+        /**
+         * Overflow gives {@link Integer#MAX_VALUE} or {@link Integer#MIN_VALUE}.
+         */
+        SATURATING,
+        /**
+         * Computes with {@link java.math.BigInteger} and only narrows the final result.
+         */
+        ARBITRARY_PRECISION,
+        /**
+         * Caches results of the expensive operations.
+         */
+        MEMOIZING
+    }
+
+    String name();
+
+    Set<Capability> capabilities();
+
+    Calculator create();
+}
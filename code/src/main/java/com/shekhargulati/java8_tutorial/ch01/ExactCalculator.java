@@ -0,0 +1,38 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+class ExactCalculator implements Calculator {
+
+    @Override
+    public int add(int first, int second) {
+        return Math.addExact(first, second);
+    }
+
+    @Override
+    public int subtract(int first, int second) {
+        return Math.subtractExact(first, second);
+    }
+
+    @Override
+    public int divide(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        if (number == Integer.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("integer overflow");
+        }
+        return number / divisor;
+    }
+
+    @Override
+    public int multiply(int first, int second) {
+        return Math.multiplyExact(first, second);
+    }
+
+    @Override
+    public int remainder(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        return number % divisor;
+    }
+}
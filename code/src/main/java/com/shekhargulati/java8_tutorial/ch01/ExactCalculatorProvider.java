@@ -0,0 +1,22 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class ExactCalculatorProvider implements CalculatorProvider {
+
+    @Override
+    public String name() {
+        return "exact";
+    }
+
+    @Override
+    public Set<Capability> capabilities() {
+        return EnumSet.of(Capability.EXACT);
+    }
+
+    @Override
+    public Calculator create() {
+        return new ExactCalculator();
+    }
+}
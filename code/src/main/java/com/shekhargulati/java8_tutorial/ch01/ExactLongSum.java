@@ -0,0 +1,35 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+/**
+ * Sums longs with wrap-around and counts how many times the running sum wrapped, so overflow is only
+ * reported when the final sum doesn't fit in a long. The result therefore doesn't depend on the order
+ * the values are added in, which lets sequential and parallel sums agree.
+ */
+final class ExactLongSum {
+
+    private long sum;
+    private long carry;
+
+    void add(long value) {
+        long result = sum + value;
+        if (((sum ^ result) & (value ^ result)) < 0) {
+            carry += value < 0 ? -1 : 1;
+        }
+        sum = result;
+    }
+
+    void combine(ExactLongSum other) {
+        add(other.sum);
+        carry += other.carry;
+    }
+
+    /**
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    long value() {
+        if (carry != 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return sum;
+    }
+}
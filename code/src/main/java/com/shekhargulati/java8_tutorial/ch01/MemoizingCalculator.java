@@ -0,0 +1,110 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the results of divide, multiply and remainder of another calculator in a bounded LRU cache.
+ * Addition and subtraction are cheaper than a cache lookup and are always delegated.
+ */
+class MemoizingCalculator implements Calculator {
+
+    private static final int DIVIDE = 0;
+    private static final int MULTIPLY = 1;
+    private static final int REMAINDER = 2;
+
+    private final Calculator delegate;
+    private final Map<Key, Integer> cache;
+
+    MemoizingCalculator(Calculator delegate, int maximumSize) {
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<Key, Integer>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Integer> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public int add(int first, int second) {
+        return delegate.add(first, second);
+    }
+
+    @Override
+    public int subtract(int first, int second) {
+        return delegate.subtract(first, second);
+    }
+
+    @Override
+    public int divide(int number, int divisor) {
+        Key key = new Key(DIVIDE, number, divisor);
+        Integer result = cached(key);
+        if (result == null) {
+            result = delegate.divide(number, divisor);
+            cache(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public int multiply(int first, int second) {
+        Key key = new Key(MULTIPLY, first, second);
+        Integer result = cached(key);
+        if (result == null) {
+            result = delegate.multiply(first, second);
+            cache(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public int remainder(int number, int divisor) {
+        Key key = new Key(REMAINDER, number, divisor);
+        Integer result = cached(key);
+        if (result == null) {
+            result = delegate.remainder(number, divisor);
+            cache(key, result);
+        }
+        return result;
+    }
+
+    private Integer cached(Key key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private void cache(Key key, Integer result) {
+        synchronized (cache) {
+            cache.put(key, result);
+        }
+    }
+
+    private static class Key {
+        private final int operation;
+        private final int first;
+        private final int second;
+
+        Key(int operation, int first, int second) {
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return operation == key.operation && first == key.first && second == key.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * operation + first) + second;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+class SaturatingCalculator implements Calculator {
+
+    @Override
+    public int add(int first, int second) {
+        return saturate((long) first + second);
+    }
+
+    @Override
+    public int subtract(int first, int second) {
+        return saturate((long) first - second);
+    }
+
+    @Override
+    public int divide(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        return saturate((long) number / divisor);
+    }
+
+    @Override
+    public int multiply(int first, int second) {
+        return saturate((long) first * second);
+    }
+
+    @Override
+    public int remainder(int number, int divisor) {
+        if (divisor == 0) {
+            throw new IllegalArgumentException("divisor can't be zero.");
+        }
+        return number % divisor;
+    }
+
+    private static int saturate(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+}
@@ -0,0 +1,22 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public class SaturatingCalculatorProvider implements CalculatorProvider {
+
+    @Override
+    public String name() {
+        return "saturating";
+    }
+
+    @Override
+    public Set<Capability> capabilities() {
+        return EnumSet.of(Capability.SATURATING);
+    }
+
+    @Override
+    public Calculator create() {
+        return new SaturatingCalculator();
+    }
+}
@@ -3,9 +3,17 @@ package com.shekhargulati.java8_tutorial.ch02;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static com.shekhargulati.java8_tutorial.ch07.Functions.allOf;
+import static com.shekhargulati.java8_tutorial.ch07.Functions.allOfInt;
+import static com.shekhargulati.java8_tutorial.ch07.Functions.chain;
+import static com.shekhargulati.java8_tutorial.ch07.Functions.lazy;
+import static com.shekhargulati.java8_tutorial.ch07.Functions.memoize;
+
 public class Example3_Functionalnterfaces {
 
     public static void main(String[] args) {
@@ -18,5 +26,15 @@ public class Example3_Functionalnterfaces {
 
         Supplier<String> uuidSupplier = () -> UUID.randomUUID().toString();
 
+        Predicate<String> shortNameStartWithS = allOf(nameStartWithS, name -> name.length() < 10);
+
+        Function<String, Integer> cachedStringToLength = memoize(stringToLength, 1000);
+
+        Supplier<String> sessionId = lazy(uuidSupplier);
+
+        IntUnaryOperator doubleThenIncrement = chain(i -> i * 2, i -> i + 1);
+
+        IntPredicate evenAndPositive = allOfInt(i -> i % 2 == 0, i -> i > 0);
+
     }
 }
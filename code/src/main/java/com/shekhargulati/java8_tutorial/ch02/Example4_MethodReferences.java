@@ -1,36 +1,113 @@
 package com.shekhargulati.java8_tutorial.ch02;
 
+import com.shekhargulati.java8_tutorial.utils.Chunks;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static java.util.Comparator.comparingInt;
 
 public class Example4_MethodReferences {
 
+    /**
+     * Below this many elements the parallel variants transform on the calling thread. Above it they cut the input
+     * into a few contiguous chunks per worker and each chunk fills its own range of the result array, so nothing is
+     * boxed, collected or merged.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
     public static void main(String[] args) {
         List<String> names = Arrays.asList("shekhar", "rahul", "sameer");
 
         List<Integer> namesLength = transform(names, String::length);
         System.out.println(namesLength);
 
+        int[] namesLengthUnboxed = transformToInt(names, String::length);
+        System.out.println(Arrays.toString(namesLengthUnboxed));
+
         List<String> upperCaseNames = transform(names, String::toUpperCase);
         System.out.println(upperCaseNames);
 
         List<Integer> numbers = transform(Arrays.asList("1", "2", "3"), Integer::parseInt);
         System.out.println(numbers);
 
+        long[] bigNumbers = parallelTransformToLong(Arrays.asList("10000000000", "20000000000"), Long::parseLong);
+        System.out.println(Arrays.toString(bigNumbers));
+
         Collections.sort(names, comparingInt(String::length).reversed());
         System.out.println(names);
     }
 
-    private static <T, R> List<R> transform(List<T> list, Function<T, R> fx) {
-        List<R> result = new ArrayList<>();
+    public static <T, R> List<R> transform(List<T> list, Function<T, R> fx) {
+        List<R> result = new ArrayList<>(list.size());
         for (T element : list) {
             result.add(fx.apply(element));
         }
         return result;
     }
+
+    public static <T> int[] transformToInt(List<T> list, ToIntFunction<? super T> fx) {
+        int[] result = new int[list.size()];
+        int i = 0;
+        for (T element : list) {
+            result[i++] = fx.applyAsInt(element);
+        }
+        return result;
+    }
+
+    public static <T> long[] transformToLong(List<T> list, ToLongFunction<? super T> fx) {
+        long[] result = new long[list.size()];
+        int i = 0;
+        for (T element : list) {
+            result[i++] = fx.applyAsLong(element);
+        }
+        return result;
+    }
+
+    /**
+     * The result is an ArrayList sized up front with nulls, which it takes over without copying, and chunks
+     * overwrite their own range with set. set is not a structural change, so chunks need no locking.
+     */
+    public static <T, R> List<R> parallelTransform(List<T> list, Function<? super T, ? extends R> fx) {
+        List<T> elements = randomAccess(list);
+        List<R> result = new ArrayList<>(Collections.nCopies(elements.size(), null));
+        Chunks.forEach(elements.size(), PARALLEL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result.set(i, fx.apply(elements.get(i)));
+            }
+        });
+        return result;
+    }
+
+    public static <T> int[] parallelTransformToInt(List<T> list, ToIntFunction<? super T> fx) {
+        List<T> elements = randomAccess(list);
+        int[] result = new int[elements.size()];
+        Chunks.forEach(elements.size(), PARALLEL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = fx.applyAsInt(elements.get(i));
+            }
+        });
+        return result;
+    }
+
+    public static <T> long[] parallelTransformToLong(List<T> list, ToLongFunction<? super T> fx) {
+        List<T> elements = randomAccess(list);
+        long[] result = new long[elements.size()];
+        Chunks.forEach(elements.size(), PARALLEL_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = fx.applyAsLong(elements.get(i));
+            }
+        });
+        return result;
+    }
+
+    private static <T> List<T> randomAccess(List<T> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
 }
@@ -0,0 +1,186 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskStore;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Same queries as {@link Examples} but run directly against the columns of a {@link TaskStore}.
+ * Rows are compared as primitives, so apart from the result itself nothing is allocated per row.
+ */
+public class ColumnarExamples {
+
+    private static final int READING = TaskType.READING.ordinal();
+
+    public List<String> allReadingTasks(TaskStore store) {
+        return titles(store, sortedReadingRows(store, false), Integer.MAX_VALUE);
+    }
+
+    public List<String> allReadingTasksSortedByCreatedOnDesc(TaskStore store) {
+        return titles(store, sortedReadingRows(store, true), Integer.MAX_VALUE);
+    }
+
+    public List<Task> allDistinctTasks(TaskStore store) {
+        int types = TaskType.values().length;
+        boolean[] seen = new boolean[store.distinctStringCount() * types];
+        List<Task> result = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) {
+            int key = store.titleId(row) * types + store.typeOrdinal(row);
+            if (!seen[key]) {
+                seen[key] = true;
+                result.add(store.get(row));
+            }
+        }
+        return result;
+    }
+
+    public List<String> topN(TaskStore store, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(Integer.toString(n));
+        }
+        return titles(store, smallestReadingRows(store, n), n);
+    }
+
+    public long countAllReadingTasks(TaskStore store) {
+        long count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (store.typeOrdinal(row) == READING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<String> allDistinctTags(TaskStore store) {
+        boolean[] seen = new boolean[store.distinctTagCount()];
+        List<String> result = new ArrayList<>();
+        for (int row = 0; row < store.size(); row++) {
+            for (int i = store.tagStart(row); i < store.tagEnd(row); i++) {
+                int tagId = store.tagIdAt(i);
+                if (!seen[tagId]) {
+                    seen[tagId] = true;
+                    result.add(store.tag(tagId));
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isAllReadingTasksWithTagBooks(TaskStore store) {
+        int books = store.tagId("books");
+        for (int row = 0; row < store.size(); row++) {
+            if (store.typeOrdinal(row) == READING && (books < 0 || !store.hasTag(row, books))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isAnyReadingTasksWithTagJava8(TaskStore store) {
+        int java8 = store.tagId("java8");
+        if (java8 < 0) {
+            return false;
+        }
+        for (int row = 0; row < store.size(); row++) {
+            if (store.typeOrdinal(row) == READING && store.hasTag(row, java8)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String joinAllTaskTitles(TaskStore store) {
+        if (store.size() == 0) {
+            throw new NoSuchElementException("No value present");
+        }
+        StringBuilder joined = new StringBuilder(store.title(0));
+        for (int row = 1; row < store.size(); row++) {
+            joined.append(" *** ").append(store.title(row));
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Sorts reading rows by packing (epoch day, row) into a single long, so the sort is primitive and ties
+     * stay in insertion order just like a stable sort on Task::getCreatedOn would keep them.
+     */
+    private long[] sortedReadingRows(TaskStore store, boolean descending) {
+        long[] keys = new long[store.size()];
+        int count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (store.typeOrdinal(row) == READING) {
+                long day = descending ? -(long) store.createdOnEpochDay(row) : store.createdOnEpochDay(row);
+                keys[count++] = (day << 32) | row;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        return Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Same keys as {@link #sortedReadingRows(TaskStore, boolean)}, but only the n smallest are kept in a max-heap
+     * of primitive longs, so m reading rows cost O(m log n) instead of a full sort.
+     */
+    private long[] smallestReadingRows(TaskStore store, int n) {
+        long[] heap = new long[Math.min(n, store.size())];
+        int count = 0;
+        for (int row = 0; row < store.size(); row++) {
+            if (store.typeOrdinal(row) != READING) {
+                continue;
+            }
+            long key = ((long) store.createdOnEpochDay(row) << 32) | row;
+            if (count < heap.length) {
+                siftUp(heap, count++, key);
+            } else if (count > 0 && key < heap[0]) {
+                siftDown(heap, count, key);
+            }
+        }
+        Arrays.sort(heap, 0, count);
+        return count == heap.length ? heap : Arrays.copyOf(heap, count);
+    }
+
+    private static void siftUp(long[] heap, int index, long key) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    /**
+     * Replaces the root, the largest key, with the given smaller key.
+     */
+    private static void siftDown(long[] heap, int size, long key) {
+        int index = 0;
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (key >= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+
+    private List<String> titles(TaskStore store, long[] sortedKeys, int limit) {
+        int count = Math.min(limit, sortedKeys.length);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(store.title((int) sortedKeys[i]));
+        }
+        return result;
+    }
+}
@@ -16,6 +16,13 @@ public class Example1_Java7 {
 
     public static void main(String[] args) {
         List<Task> tasks = getTasks();
+        List<String> readingTasks = readingTaskTitles(tasks);
+        for (String readingTask : readingTasks) {
+            System.out.println(readingTask);
+        }
+    }
+
+    public static List<String> readingTaskTitles(List<Task> tasks) {
         List<Task> readingTasks = new ArrayList<>();
         for (Task task : tasks) {
             if (task.getType() == TaskType.READING) {
@@ -28,8 +35,10 @@ public class Example1_Java7 {
                 return t1.getTitle().length() - t2.getTitle().length();
             }
         });
+        List<String> readingTaskTitles = new ArrayList<>();
         for (Task readingTask : readingTasks) {
-            System.out.println(readingTask.getTitle());
+            readingTaskTitles.add(readingTask.getTitle());
         }
+        return readingTaskTitles;
     }
 }
@@ -15,12 +15,16 @@ public class Example1_Stream {
     public static void main(String[] args) {
         List<Task> tasks = getTasks();
 
-        List<String> readingTasks = tasks.stream()
+        List<String> readingTasks = readingTaskTitles(tasks);
+
+        readingTasks.forEach(System.out::println);
+    }
+
+    public static List<String> readingTaskTitles(List<Task> tasks) {
+        return tasks.stream()
                 .filter(task -> task.getType() == TaskType.READING)
                 .sorted((t1, t2) -> t1.getTitle().length() - t2.getTitle().length())
                 .map(Task::getTitle)
                 .collect(Collectors.toList());
-
-        readingTasks.forEach(System.out::println);
     }
 }
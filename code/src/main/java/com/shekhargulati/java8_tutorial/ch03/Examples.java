@@ -1,17 +1,35 @@
 package com.shekhargulati.java8_tutorial.ch03;
 
+import com.shekhargulati.java8_tutorial.domain.ImmutableTask;
 import com.shekhargulati.java8_tutorial.domain.Task;
 import com.shekhargulati.java8_tutorial.domain.TaskType;
 
+import java.io.Writer;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 public class Examples {
 
+    private final boolean parallel;
+
+    public Examples() {
+        this(false);
+    }
+
+    public Examples(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     public List<String> allReadingTasks(List<Task> tasks) {
-        return tasks.stream().
+        return stream(tasks).
                 filter(task -> task.getType() == TaskType.READING).
                 sorted(comparing(Task::getCreatedOn)).
                 map(Task::getTitle).
@@ -19,9 +37,13 @@ public class Examples {
 
     }
 
+    public List<String> allReadingTasks(List<Task> tasks, int limit) {
+        return readingTaskTitles(tasks, comparing(Task::getCreatedOn), limit);
+    }
+
 
     public List<String> allReadingTasksSortedByCreatedOnDesc(List<Task> tasks) {
-        return tasks.stream().
+        return stream(tasks).
                 filter(task -> task.getType() == TaskType.READING).
                 sorted(comparing(Task::getCreatedOn).reversed()).
                 map(Task::getTitle).
@@ -29,46 +51,80 @@ public class Examples {
 
     }
 
+    public List<String> allReadingTasksSortedByCreatedOnDesc(List<Task> tasks, int limit) {
+        return readingTaskTitles(tasks, comparing(Task::getCreatedOn).reversed(), limit);
+    }
+
     public List<Task> allDistinctTasks(List<Task> tasks) {
-        return tasks.stream().distinct().collect(toList());
+        return stream(tasks).distinct().collect(toList());
     }
 
-    public List<String> topN(List<Task> tasks, int n) {
-        return tasks.stream().
-                filter(task -> task.getType() == TaskType.READING).
-                sorted(comparing(Task::getCreatedOn)).
-                map(Task::getTitle).
-                limit(n).
+    /**
+     * Same result as {@link #allDistinctTasks(List)}. In parallel, rather than going through {@link Stream#distinct()},
+     * which has to merge ordered sets, every worker records the first position of each task in a shared concurrent
+     * map keyed on the cached hash, and the first positions are sorted back into encounter order.
+     */
+    public List<ImmutableTask> allDistinctImmutableTasks(List<ImmutableTask> tasks) {
+        if (!parallel) {
+            return tasks.stream().distinct().collect(toList());
+        }
+        ConcurrentMap<ImmutableTask, Integer> firstPositions = new ConcurrentHashMap<>();
+        IntStream.range(0, tasks.size()).parallel().forEach(i -> firstPositions.merge(tasks.get(i), i, Math::min));
+        return firstPositions.values().parallelStream().
+                mapToInt(Integer::intValue).
+                sorted().
+                mapToObj(tasks::get).
                 collect(toList());
     }
 
+    public List<String> topN(List<Task> tasks, int n) {
+        return allReadingTasks(tasks, n);
+    }
+
     public long countAllReadingTasks(List<Task> tasks) {
-        return tasks.stream().
+        return stream(tasks).
                 filter(task -> task.getType() == TaskType.READING).
                 count();
     }
 
     public List<String> allDistinctTags(List<Task> tasks) {
-        return tasks.stream().flatMap(task -> task.getTags().stream()).distinct().collect(toList());
+        return stream(tasks).flatMap(task -> task.getTags().stream()).distinct().collect(toList());
     }
 
     public boolean isAllReadingTasksWithTagBooks(List<Task> tasks) {
-        return tasks.stream().
+        return stream(tasks).
                 filter(task -> task.getType() == TaskType.READING).
                 allMatch(task -> task.getTags().contains("books"));
     }
 
     public boolean isAnyReadingTasksWithTagJava8(List<Task> tasks) {
-        return tasks.stream().
+        return stream(tasks).
                 filter(task -> task.getType() == TaskType.READING).
                 anyMatch(task -> task.getTags().contains("java8"));
     }
 
     public String joinAllTaskTitles(List<Task> tasks) {
-        return tasks.stream().
+        if (tasks.isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+        return Joining.join(tasks, Task::getTitle, " *** ", parallel);
+    }
+
+    public void writeAllTaskTitles(List<Task> tasks, Writer writer) {
+        Joining.writeTo(tasks, Task::getTitle, " *** ", writer);
+    }
+
+    private List<String> readingTaskTitles(List<Task> tasks, Comparator<Task> comparator, int limit) {
+        return stream(tasks).
+                filter(task -> task.getType() == TaskType.READING).
+                collect(TopNCollector.topN(limit, comparator)).
+                stream().
                 map(Task::getTitle).
-                reduce((first, second) -> first + " *** " + second).
-                get();
+                collect(toList());
+    }
+
+    private Stream<Task> stream(List<Task> tasks) {
+        return parallel ? tasks.parallelStream() : tasks.stream();
     }
 
 }
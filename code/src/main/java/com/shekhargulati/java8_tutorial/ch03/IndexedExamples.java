@@ -0,0 +1,29 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.TagIndex;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tag queries from {@link Examples} answered by intersecting bitmaps of a {@link TagIndex}.
+ */
+public class IndexedExamples {
+
+    public long countAllReadingTasks(TagIndex index) {
+        return index.ofType(TaskType.READING).count();
+    }
+
+    public List<String> allDistinctTags(TagIndex index) {
+        return new ArrayList<>(index.tags());
+    }
+
+    public boolean isAllReadingTasksWithTagBooks(TagIndex index) {
+        return !index.ofType(TaskType.READING).andNot(index.tagged("books")).exists();
+    }
+
+    public boolean isAnyReadingTasksWithTagJava8(TagIndex index) {
+        return index.ofType(TaskType.READING).and(index.tagged("java8")).exists();
+    }
+}
@@ -0,0 +1,154 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.utils.Chunks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Joins the text of a list of items with a delimiter, in linear time.
+ * <p>
+ * {@link #join} first sums the lengths of all parts, so the result is written into a single char array of the exact
+ * size. In parallel the list is cut into segments and, since the offset of every part is known from the lengths,
+ * each segment is copied straight into its own slice of that array, leaving nothing to concatenate afterwards.
+ * {@link #writeTo(List, Function, String, Writer)} and {@link #writeTo(List, Function, String, WritableByteChannel, Charset)}
+ * stream the joined text out part by part and never hold more than one buffer of it in memory.
+ */
+public class Joining {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Joining() {
+    }
+
+    public static <T> String join(List<T> items, Function<? super T, ? extends CharSequence> text, String delimiter) {
+        return join(items, text, delimiter, false);
+    }
+
+    public static <T> String join(List<T> items, Function<? super T, ? extends CharSequence> text, String delimiter, boolean parallel) {
+        // parts are looked up by index, which is linear per lookup on a LinkedList
+        List<T> elements = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        int size = elements.size();
+        if (size == 0) {
+            return "";
+        }
+        boolean inParallel = parallel && size >= PARALLEL_THRESHOLD;
+        CharSequence[] parts = new CharSequence[size];
+        IntStream indexes = IntStream.range(0, size);
+        (inParallel ? indexes.parallel() : indexes).forEach(i -> parts[i] = textOf(text, elements.get(i)));
+
+        // offsets[i] is where part i starts, the delimiter before it excluded
+        long[] offsets = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].length() + (i < size - 1 ? delimiter.length() : 0);
+        }
+        if (offsets[size] > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Joined text of " + offsets[size] + " chars does not fit in a String");
+        }
+        char[] joined = new char[(int) offsets[size]];
+        if (!inParallel) {
+            copy(parts, delimiter, offsets, joined, 0, size);
+        } else {
+            Chunks.forEach(size, PARALLEL_THRESHOLD, (from, to) -> copy(parts, delimiter, offsets, joined, from, to));
+        }
+        return new String(joined);
+    }
+
+    public static <T> void writeTo(List<T> items, Function<? super T, ? extends CharSequence> text, String delimiter, Writer writer) {
+        try {
+            boolean first = true;
+            for (T item : items) {
+                if (!first) {
+                    writer.write(delimiter);
+                }
+                writer.append(textOf(text, item));
+                first = false;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static <T> void writeTo(List<T> items, Function<? super T, ? extends CharSequence> text, String delimiter,
+                                   WritableByteChannel channel, Charset charset) {
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer separator = CharBuffer.wrap(delimiter);
+        try {
+            boolean first = true;
+            for (T item : items) {
+                if (!first) {
+                    encode(encoder, separator.duplicate(), buffer, channel);
+                }
+                encode(encoder, CharBuffer.wrap(textOf(text, item)), buffer, channel);
+                first = false;
+            }
+            encode(encoder, CharBuffer.allocate(0), buffer, channel, true);
+            while (encoder.flush(buffer).isOverflow()) {
+                drain(buffer, channel);
+            }
+            drain(buffer, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // a null part is written as "null", like string concatenation and Writer.append do
+    private static <T> CharSequence textOf(Function<? super T, ? extends CharSequence> text, T item) {
+        CharSequence part = text.apply(item);
+        return part == null ? "null" : part;
+    }
+
+    private static void copy(CharSequence[] parts, String delimiter, long[] offsets, char[] joined, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int offset = (int) offsets[i];
+            CharSequence part = parts[i];
+            if (part instanceof String) {
+                ((String) part).getChars(0, part.length(), joined, offset);
+            } else {
+                for (int c = 0; c < part.length(); c++) {
+                    joined[offset + c] = part.charAt(c);
+                }
+            }
+            if (i < parts.length - 1) {
+                delimiter.getChars(0, delimiter.length(), joined, offset + part.length());
+            }
+        }
+    }
+
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        encode(encoder, chars, buffer, channel, false);
+    }
+
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer buffer, WritableByteChannel channel,
+                               boolean endOfInput) throws IOException {
+        // errors are replaced by the encoder, so encoding only stops when the buffer is full or the chars are used up
+        while (encoder.encode(chars, buffer, endOfInput).isOverflow()) {
+            drain(buffer, channel);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -9,11 +9,12 @@ import static java.util.stream.Collectors.groupingBy;
 public class ParallelStreamExample {
 
     public static void main(String[] args) {
-        Map<String, List<Integer>> numbersPerThread = IntStream.rangeClosed(1, 160)
-                .parallel()
+        StreamDiagnostics diagnostics = new StreamDiagnostics();
+        Map<String, List<Integer>> numbersPerThread = diagnostics.instrument(IntStream.rangeClosed(1, 160).parallel())
                 .boxed()
                 .collect(groupingBy(i -> Thread.currentThread().getName()));
 
         numbersPerThread.forEach((k, v) -> System.out.println(String.format("%s >> %s", k, v)));
+        System.out.println(diagnostics.report());
     }
 }
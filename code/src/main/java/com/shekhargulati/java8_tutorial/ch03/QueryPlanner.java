@@ -0,0 +1,375 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskListener;
+import com.shekhargulati.java8_tutorial.domain.TaskStore;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Runs the {@link Examples} queries with whichever plan is expected to be cheapest: a sequential stream, a
+ * parallel stream or a scan over the columns of a {@link TaskStore}. Every run is timed and folded into a
+ * cost per unit of work for that operation and plan, and the share of reading tasks seen in results is kept
+ * as the selectivity used to estimate how much sorting a query has to do. {@link #explain()} describes the
+ * last decision.
+ * <p>
+ * The column store built for a list is kept for the next query against a list holding the same tasks. Planning only
+ * compares sizes, the tasks themselves are compared once the columnar plan runs, where that walk costs less than the
+ * scan it precedes. The planner listens to {@link Task#addTag(String)} of the stored tasks and drops the store when a
+ * tag is added. Building a store for other tasks, or {@link #invalidate()}, stops listening to the previous ones.
+ */
+public class QueryPlanner {
+
+    public enum Plan {
+        SEQUENTIAL, PARALLEL, COLUMNAR
+    }
+
+    enum Operation {
+        ALL_READING_TASKS(true, true),
+        ALL_READING_TASKS_DESC(true, true),
+        ALL_DISTINCT_TASKS(false, false),
+        TOP_N(true, true),
+        COUNT_ALL_READING_TASKS(false, true),
+        ALL_DISTINCT_TAGS(false, true),
+        ALL_READING_WITH_TAG_BOOKS(false, true),
+        ANY_READING_WITH_TAG_JAVA8(false, true),
+        JOIN_ALL_TASK_TITLES(false, true);
+
+        private final boolean sorts;
+        private final boolean columnar;
+
+        Operation(boolean sorts, boolean columnar) {
+            this.sorts = sorts;
+            this.columnar = columnar;
+        }
+    }
+
+    private static final double ALPHA = 0.2;
+    /**
+     * Bounds how far a single timing can move an estimate, so a run slowed down by class loading, JIT
+     * compilation or a GC pause does not rule a plan out for good.
+     */
+    private static final double MAX_STEP = 4;
+    private static final double PARALLEL_STARTUP_NANOS = 50_000;
+    private static final int EXPLORE_EVERY = 32;
+    /**
+     * Exploring the columnar plan for a list without a store means building one, which is only worth it this far.
+     */
+    private static final int EXPLORE_BUILD_LIMIT = 100_000;
+
+    private final Examples sequential = new Examples(false);
+    private final Examples parallel = new Examples(true);
+    private final ColumnarExamples columnar = new ColumnarExamples();
+    private final int cores;
+
+    private final Map<Operation, Map<Plan, Double>> nanosPerUnit = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> runs = new EnumMap<>(Operation.class);
+    private double buildNanosPerTask = 50;
+    private double readingSelectivity = 0.5;
+
+    private final TaskListener storeListener = (task, tag) -> tagAdded();
+    private Task[] storedTasks;
+    private TaskStore store;
+    private int storeVersion;
+    private Explanation lastExplanation;
+
+    public QueryPlanner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    QueryPlanner(int cores) {
+        this.cores = cores;
+    }
+
+    public List<String> allReadingTasks(List<Task> tasks) {
+        return execute(Operation.ALL_READING_TASKS, tasks, Integer.MAX_VALUE,
+                examples -> examples.allReadingTasks(tasks), columnar::allReadingTasks);
+    }
+
+    public List<String> allReadingTasksSortedByCreatedOnDesc(List<Task> tasks) {
+        return execute(Operation.ALL_READING_TASKS_DESC, tasks, Integer.MAX_VALUE,
+                examples -> examples.allReadingTasksSortedByCreatedOnDesc(tasks), columnar::allReadingTasksSortedByCreatedOnDesc);
+    }
+
+    public List<Task> allDistinctTasks(List<Task> tasks) {
+        return execute(Operation.ALL_DISTINCT_TASKS, tasks, Integer.MAX_VALUE,
+                examples -> examples.allDistinctTasks(tasks), null);
+    }
+
+    public List<String> topN(List<Task> tasks, int n) {
+        return execute(Operation.TOP_N, tasks, n,
+                examples -> examples.topN(tasks, n), store -> columnar.topN(store, n));
+    }
+
+    public long countAllReadingTasks(List<Task> tasks) {
+        return execute(Operation.COUNT_ALL_READING_TASKS, tasks, Integer.MAX_VALUE,
+                examples -> examples.countAllReadingTasks(tasks), columnar::countAllReadingTasks);
+    }
+
+    public List<String> allDistinctTags(List<Task> tasks) {
+        return execute(Operation.ALL_DISTINCT_TAGS, tasks, Integer.MAX_VALUE,
+                examples -> examples.allDistinctTags(tasks), columnar::allDistinctTags);
+    }
+
+    public boolean isAllReadingTasksWithTagBooks(List<Task> tasks) {
+        return execute(Operation.ALL_READING_WITH_TAG_BOOKS, tasks, Integer.MAX_VALUE,
+                examples -> examples.isAllReadingTasksWithTagBooks(tasks), columnar::isAllReadingTasksWithTagBooks);
+    }
+
+    public boolean isAnyReadingTasksWithTagJava8(List<Task> tasks) {
+        return execute(Operation.ANY_READING_WITH_TAG_JAVA8, tasks, Integer.MAX_VALUE,
+                examples -> examples.isAnyReadingTasksWithTagJava8(tasks), columnar::isAnyReadingTasksWithTagJava8);
+    }
+
+    public String joinAllTaskTitles(List<Task> tasks) {
+        return execute(Operation.JOIN_ALL_TASK_TITLES, tasks, Integer.MAX_VALUE,
+                examples -> examples.joinAllTaskTitles(tasks), columnar::joinAllTaskTitles);
+    }
+
+    public synchronized Explanation explain() {
+        return lastExplanation;
+    }
+
+    public synchronized void invalidate() {
+        forgetStore();
+    }
+
+    private <R> R execute(Operation operation, List<Task> tasks, int limit,
+                          Function<Examples, R> streamPath, Function<TaskStore, R> columnarPath) {
+        Explanation explanation = plan(operation, tasks, limit, columnarPath != null);
+        long start = System.nanoTime();
+        R result;
+        long buildNanos = 0;
+        switch (explanation.plan) {
+            case PARALLEL:
+                result = streamPath.apply(parallel);
+                break;
+            case COLUMNAR:
+                TaskStore store = storeFor(tasks);
+                if (store != explanation.store) {
+                    // the tasks changed since planning, or there was no store yet
+                    explanation.storeReused = false;
+                    buildNanos = System.nanoTime() - start;
+                }
+                result = columnarPath.apply(store);
+                break;
+            default:
+                result = streamPath.apply(sequential);
+        }
+        long elapsed = System.nanoTime() - start;
+        learn(explanation, result, elapsed, buildNanos);
+        return result;
+    }
+
+    private synchronized Explanation plan(Operation operation, List<Task> tasks, int limit, boolean columnarAllowed) {
+        int n = tasks.size();
+        double units = units(operation, n, limit);
+        // O(1) guess, storeFor confirms it before the store is used
+        boolean stored = store != null && storedTasks.length == n;
+        Map<Plan, Double> estimates = new EnumMap<>(Plan.class);
+        for (Plan plan : Plan.values()) {
+            if (plan == Plan.COLUMNAR && !columnarAllowed) {
+                continue;
+            }
+            double estimate = costPerUnit(operation, plan) * units;
+            if (plan == Plan.PARALLEL) {
+                estimate += PARALLEL_STARTUP_NANOS;
+            }
+            if (plan == Plan.COLUMNAR && !stored) {
+                estimate += buildNanosPerTask * n;
+            }
+            estimates.put(plan, estimate);
+        }
+        Plan cheapest = estimates.entrySet().stream().min(Map.Entry.comparingByValue()).get().getKey();
+
+        int run = runs.merge(operation, 1, Integer::sum);
+        Plan chosen = cheapest;
+        String reason = "lowest estimated cost";
+        boolean exploreColumnar = stored || n <= EXPLORE_BUILD_LIMIT;
+        Plan runnerUp = estimates.entrySet().stream()
+                .filter(entry -> entry.getKey() != cheapest && (entry.getKey() != Plan.COLUMNAR || exploreColumnar))
+                .min(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+        if (run % EXPLORE_EVERY == 0 && runnerUp != null) {
+            chosen = runnerUp;
+            reason = "re-measuring the runner up to keep cost estimates current";
+        } else if (cheapest == Plan.COLUMNAR && stored) {
+            reason = "lowest estimated cost, column store already built for this list";
+        }
+        Explanation explanation = new Explanation(operation, chosen, reason, n, units, stored, readingSelectivity, estimates);
+        if (explanation.storeReused) {
+            explanation.store = store;
+        }
+        return explanation;
+    }
+
+    private synchronized void learn(Explanation explanation, Object result, long elapsedNanos, long buildNanos) {
+        Operation operation = explanation.operation;
+        int n = explanation.size;
+        if (explanation.plan == Plan.COLUMNAR && !explanation.storeReused && n > 0) {
+            double observed = Math.min((double) buildNanos / n, buildNanosPerTask * MAX_STEP);
+            buildNanosPerTask += ALPHA * (observed - buildNanosPerTask);
+        }
+        double work = elapsedNanos - buildNanos - (explanation.plan == Plan.PARALLEL ? PARALLEL_STARTUP_NANOS : 0);
+        if (explanation.units > 0) {
+            double current = costPerUnit(operation, explanation.plan);
+            double observed = Math.min(Math.max(work / explanation.units, current / MAX_STEP), current * MAX_STEP);
+            nanosPerUnit.computeIfAbsent(operation, op -> new EnumMap<>(Plan.class))
+                    .put(explanation.plan, current + ALPHA * (observed - current));
+        }
+        if (n > 0 && (operation == Operation.ALL_READING_TASKS || operation == Operation.ALL_READING_TASKS_DESC)) {
+            readingSelectivity += ALPHA * ((double) ((Collection<?>) result).size() / n - readingSelectivity);
+        } else if (n > 0 && operation == Operation.COUNT_ALL_READING_TASKS) {
+            readingSelectivity += ALPHA * ((Long) result / (double) n - readingSelectivity);
+        }
+        explanation.elapsedNanos = elapsedNanos;
+        lastExplanation = explanation;
+    }
+
+    /**
+     * One unit per task scanned plus, for sorting queries, the comparisons needed to order the matching tasks.
+     */
+    private double units(Operation operation, int n, int limit) {
+        double units = n;
+        if (operation.sorts) {
+            double matching = readingSelectivity * n;
+            units += matching * log2(Math.min(matching, limit) + 2);
+        }
+        return units;
+    }
+
+    private double costPerUnit(Operation operation, Plan plan) {
+        Map<Plan, Double> learned = nanosPerUnit.get(operation);
+        if (learned != null && learned.containsKey(plan)) {
+            return learned.get(plan);
+        }
+        switch (plan) {
+            case PARALLEL:
+                return 10.0 / cores;
+            case COLUMNAR:
+                return 3;
+            default:
+                return 10;
+        }
+    }
+
+    /**
+     * Builds a column store for the tasks and keeps it, and listens to the tasks so a tag added to any of them
+     * drops the store again.
+     */
+    TaskStore storeFor(List<Task> tasks) {
+        synchronized (this) {
+            if (isStored(tasks)) {
+                return store;
+            }
+        }
+        Task[] snapshot = tasks.toArray(new Task[0]);
+        int version;
+        synchronized (this) {
+            forgetStore();
+            for (Task task : snapshot) {
+                task.addListener(storeListener);
+            }
+            storedTasks = snapshot;
+            version = ++storeVersion;
+        }
+        TaskStore built = TaskStore.of(Arrays.asList(snapshot));
+        synchronized (this) {
+            // a tag added while building bumped the version
+            if (storedTasks == snapshot && storeVersion == version) {
+                store = built;
+            }
+        }
+        return built;
+    }
+
+    private boolean isStored(List<Task> tasks) {
+        if (store == null || tasks.size() != storedTasks.length) {
+            return false;
+        }
+        int i = 0;
+        for (Task task : tasks) {
+            if (task != storedTasks[i++]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // called from Task.addTag while it iterates its listeners, so the listeners are only removed on the next build
+    private synchronized void tagAdded() {
+        store = null;
+        storeVersion++;
+    }
+
+    private void forgetStore() {
+        if (storedTasks != null) {
+            for (Task task : storedTasks) {
+                task.removeListener(storeListener);
+            }
+        }
+        storedTasks = null;
+        store = null;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    public static class Explanation {
+
+        private final Operation operation;
+        private final Plan plan;
+        private final String reason;
+        private final int size;
+        private final double units;
+        private boolean storeReused;
+        private final double selectivity;
+        private final Map<Plan, Double> estimatedNanos;
+        private long elapsedNanos;
+        private TaskStore store;
+
+        Explanation(Operation operation, Plan plan, String reason, int size, double units, boolean storeReused,
+                    double selectivity, Map<Plan, Double> estimatedNanos) {
+            this.operation = operation;
+            this.plan = plan;
+            this.reason = reason;
+            this.size = size;
+            this.units = units;
+            this.storeReused = storeReused && plan == Plan.COLUMNAR;
+            this.selectivity = selectivity;
+            this.estimatedNanos = estimatedNanos;
+        }
+
+        public Plan getPlan() {
+            return plan;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public Map<Plan, Double> getEstimatedNanos() {
+            return estimatedNanos;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder explain = new StringBuilder();
+            explain.append(String.format("%s over %d tasks (reading selectivity %.2f) >> %s, %s%n",
+                    operation, size, selectivity, plan, reason));
+            estimatedNanos.forEach((candidate, nanos) ->
+                    explain.append(String.format("  %-10s estimated %,.0f ns%n", candidate, nanos)));
+            explain.append(String.format("  actual %,d ns", elapsedNanos));
+            return explain.toString();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Wraps the spliterator of a stream to record how a parallel pipeline was split and run: the depth of every
+ * split, how many elements each leaf chunk had, which worker processed it and for how long. {@link #report()}
+ * turns that into per worker busy and idle times and a verdict on whether running in parallel paid off.
+ * <pre>
+ * StreamDiagnostics diagnostics = new StreamDiagnostics();
+ * long count = diagnostics.instrument(tasks.parallelStream()).filter(...).count();
+ * System.out.println(diagnostics.report());
+ * </pre>
+ */
+public class StreamDiagnostics {
+
+    private final ConcurrentLinkedQueue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger splits = new AtomicInteger();
+
+    /**
+     * Closing the returned stream closes the given one, so streams over files still release them.
+     */
+    public <T> Stream<T> instrument(Stream<T> stream) {
+        return StreamSupport.stream(new InstrumentedSpliterator<>(stream.spliterator(), 0), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    public IntStream instrument(IntStream stream) {
+        return StreamSupport.intStream(new InstrumentedIntSpliterator(stream.spliterator(), 0), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    public Report report() {
+        return new Report(new ArrayList<>(chunks), splits.get());
+    }
+
+    private static class Chunk {
+        private final int depth;
+        private final String worker;
+        private final long start;
+        private long end;
+        private int elements;
+
+        Chunk(int depth) {
+            this.depth = depth;
+            this.worker = Thread.currentThread().getName();
+            this.start = System.nanoTime();
+            this.end = start;
+        }
+    }
+
+    private class InstrumentedSpliterator<T> implements Spliterator<T> {
+
+        final Spliterator<T> delegate;
+        int depth;
+        Chunk chunk;
+
+        InstrumentedSpliterator(Spliterator<T> delegate, int depth) {
+            this.delegate = delegate;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Chunk chunk = chunk();
+            boolean advanced = delegate.tryAdvance(action);
+            if (advanced) {
+                chunk.elements++;
+            }
+            chunk.end = System.nanoTime();
+            return advanced;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Chunk chunk = chunk();
+            delegate.forEachRemaining(element -> {
+                chunk.elements++;
+                action.accept(element);
+            });
+            chunk.end = System.nanoTime();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefix = delegate.trySplit();
+            if (prefix == null) {
+                return null;
+            }
+            splits.incrementAndGet();
+            depth++;
+            return new InstrumentedSpliterator<>(prefix, depth);
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return delegate.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return delegate.getComparator();
+        }
+
+        Chunk chunk() {
+            if (chunk == null) {
+                chunk = new Chunk(depth);
+                chunks.add(chunk);
+            }
+            return chunk;
+        }
+    }
+
+    private class InstrumentedIntSpliterator extends InstrumentedSpliterator<Integer> implements Spliterator.OfInt {
+
+        InstrumentedIntSpliterator(Spliterator.OfInt delegate, int depth) {
+            super(delegate, depth);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Chunk chunk = chunk();
+            boolean advanced = ((OfInt) delegate).tryAdvance(action);
+            if (advanced) {
+                chunk.elements++;
+            }
+            chunk.end = System.nanoTime();
+            return advanced;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Chunk chunk = chunk();
+            ((OfInt) delegate).forEachRemaining((int element) -> {
+                chunk.elements++;
+                action.accept(element);
+            });
+            chunk.end = System.nanoTime();
+        }
+
+        @Override
+        public OfInt trySplit() {
+            OfInt prefix = ((OfInt) delegate).trySplit();
+            if (prefix == null) {
+                return null;
+            }
+            splits.incrementAndGet();
+            depth++;
+            return new InstrumentedIntSpliterator(prefix, depth);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Integer> action) {
+            return OfInt.super.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Integer> action) {
+            OfInt.super.forEachRemaining(action);
+        }
+    }
+
+    public static class Report {
+
+        private final int splits;
+        private final int maxDepth;
+        private final IntSummaryStatistics chunkSizes;
+        private final Map<String, WorkerStats> workers = new TreeMap<>();
+        private final long wallNanos;
+
+        Report(List<Chunk> chunks, int splits) {
+            this.splits = splits;
+            this.maxDepth = chunks.stream().mapToInt(chunk -> chunk.depth).max().orElse(0);
+            this.chunkSizes = chunks.stream().mapToInt(chunk -> chunk.elements).summaryStatistics();
+            long start = chunks.stream().mapToLong(chunk -> chunk.start).min().orElse(0);
+            long end = chunks.stream().mapToLong(chunk -> chunk.end).max().orElse(0);
+            this.wallNanos = end - start;
+            chunks.forEach(chunk -> workers.computeIfAbsent(chunk.worker, w -> new WorkerStats()).add(chunk));
+        }
+
+        public int getSplits() {
+            return splits;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        public IntSummaryStatistics getChunkSizes() {
+            return chunkSizes;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getBusyNanos() {
+            return workers.values().stream().mapToLong(worker -> worker.busyNanos).sum();
+        }
+
+        /**
+         * @return how much longer the busiest worker worked than the average worker, 1.0 is perfectly balanced
+         */
+        public double getImbalance() {
+            long max = workers.values().stream().mapToLong(worker -> worker.busyNanos).max().orElse(0);
+            double mean = workers.isEmpty() ? 0 : (double) getBusyNanos() / workers.size();
+            return mean == 0 ? 1.0 : max / mean;
+        }
+
+        /**
+         * @return total busy time divided by wall time, the speed up over doing all the work on one thread
+         */
+        public double getSpeedup() {
+            return wallNanos == 0 ? 1.0 : (double) getBusyNanos() / wallNanos;
+        }
+
+        public boolean isWorthParallel() {
+            return workers.size() > 1 && getSpeedup() >= 1.5;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("splits=%d, max depth=%d, chunks=%d, chunk size min/avg/max=%d/%.1f/%d%n",
+                    splits, maxDepth, chunkSizes.getCount(), chunkSizes.getMin(), chunkSizes.getAverage(), chunkSizes.getMax()));
+            workers.forEach((name, worker) -> report.append(String.format("%s >> chunks=%d, elements=%d, busy=%dus, idle=%dus%n",
+                    name, worker.chunks, worker.elements, micros(worker.busyNanos), micros(wallNanos - worker.busyNanos))));
+            report.append(String.format("wall=%dus, busy=%dus, speedup=%.2f, imbalance=%.2f >> %s",
+                    micros(wallNanos), micros(getBusyNanos()), getSpeedup(), getImbalance(),
+                    isWorthParallel() ? "parallel execution pays off" : "not worth running in parallel"));
+            return report.toString();
+        }
+
+        private static long micros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+
+    private static class WorkerStats {
+        private int chunks;
+        private long elements;
+        private long busyNanos;
+
+        void add(Chunk chunk) {
+            chunks++;
+            elements += chunk.elements;
+            busyNanos += chunk.end - chunk.start;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskTimeIndex;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Date ordered queries from {@link Examples} read straight off a {@link TaskTimeIndex}, so nothing is sorted.
+ */
+public class TimeIndexedExamples {
+
+    public List<String> allReadingTasks(TaskTimeIndex index) {
+        return index.ascending().
+                filter(task -> task.getType() == TaskType.READING).
+                map(Task::getTitle).
+                collect(toList());
+    }
+
+    public List<String> allReadingTasksSortedByCreatedOnDesc(TaskTimeIndex index) {
+        return index.descending().
+                filter(task -> task.getType() == TaskType.READING).
+                map(Task::getTitle).
+                collect(toList());
+    }
+
+    public List<String> topN(TaskTimeIndex index, int n) {
+        return index.ascending().
+                filter(task -> task.getType() == TaskType.READING).
+                limit(n).
+                map(Task::getTitle).
+                collect(toList());
+    }
+
+    public List<String> allReadingTasksCreatedBetween(TaskTimeIndex index, LocalDate from, LocalDate to) {
+        return index.between(from, to).
+                filter(task -> task.getType() == TaskType.READING).
+                map(Task::getTitle).
+                collect(toList());
+    }
+}
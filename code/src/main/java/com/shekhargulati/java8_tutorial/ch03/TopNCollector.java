@@ -0,0 +1,121 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Collects the first n elements of a stream according to a comparator without sorting the whole stream.
+ * It gives the same result as <code>sorted(comparator).limit(n)</code> (ties are kept in encounter order)
+ * but only ever keeps n elements in a bounded heap, so it costs O(m log n) time and O(n) memory.
+ * Partial results of a parallel stream are merged heap by heap.
+ */
+public class TopNCollector<T> implements Collector<T, TopNCollector.Heap<T>, List<T>> {
+
+    private final int n;
+    private final Comparator<? super T> comparator;
+
+    private TopNCollector(int n, Comparator<? super T> comparator) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n can't be negative: " + n);
+        }
+        this.n = n;
+        this.comparator = comparator;
+    }
+
+    public static <T> Collector<T, ?, List<T>> topN(int n, Comparator<? super T> comparator) {
+        return new TopNCollector<>(n, comparator);
+    }
+
+    @Override
+    public Supplier<Heap<T>> supplier() {
+        return () -> new Heap<>(n, comparator);
+    }
+
+    @Override
+    public BiConsumer<Heap<T>, T> accumulator() {
+        return Heap::offer;
+    }
+
+    @Override
+    public BinaryOperator<Heap<T>> combiner() {
+        return Heap::merge;
+    }
+
+    @Override
+    public Function<Heap<T>, List<T>> finisher() {
+        return Heap::toSortedList;
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return EnumSet.noneOf(Characteristics.class);
+    }
+
+    static class Heap<T> {
+
+        private final int n;
+        private final Comparator<Entry<T>> order;
+        private final PriorityQueue<Entry<T>> worstFirst;
+        private long seen;
+
+        Heap(int n, Comparator<? super T> comparator) {
+            this.n = n;
+            Comparator<Entry<T>> byValue = (e1, e2) -> comparator.compare(e1.value, e2.value);
+            this.order = byValue.thenComparingLong(e -> e.sequence);
+            this.worstFirst = new PriorityQueue<>(Math.max(1, Math.min(n, 1024)), order.reversed());
+        }
+
+        void offer(T value) {
+            offer(new Entry<>(value, seen++));
+        }
+
+        private void offer(Entry<T> entry) {
+            if (worstFirst.size() < n) {
+                worstFirst.add(entry);
+            } else if (n > 0 && order.compare(entry, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(entry);
+            }
+        }
+
+        Heap<T> merge(Heap<T> right) {
+            // everything in the right heap comes after everything in this heap in encounter order
+            long offset = seen;
+            for (Entry<T> entry : right.worstFirst) {
+                offer(new Entry<>(entry.value, offset + entry.sequence));
+            }
+            seen += right.seen;
+            return this;
+        }
+
+        List<T> toSortedList() {
+            List<Entry<T>> entries = new ArrayList<>(worstFirst);
+            Collections.sort(entries, order);
+            List<T> result = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries) {
+                result.add(entry.value);
+            }
+            return result;
+        }
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long sequence;
+
+        Entry(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+/**
+ * Estimates the number of distinct elements in a fixed 16KB of memory with a standard error of about 0.8%.
+ * Two sketches merge by keeping the larger register, so partial results of a parallel stream combine exactly.
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 14;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Strings and other char sequences are hashed by content and integral numbers and doubles by value to 64 bits, so
+     * they only collide by chance. Any other element is hashed through its 32 bit <code>hashCode</code>: elements with
+     * equal hash codes count once, and beyond a few hundred million elements estimates drift low. For those, pass a
+     * good 64 bit hash of the element to {@link #addHash(long)} instead.
+     */
+    public void add(Object element) {
+        addHash(hash(element));
+    }
+
+    /**
+     * @param hash a 64 bit hash whose bits are all evenly distributed
+     */
+    public void addHash(long hash) {
+        int register = (int) (hash >>> (64 - PRECISION));
+        // position of the first 1 bit in the remaining bits, a sentinel bit keeps it within range
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[register]) {
+            registers[register] = rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    static long hash(Object element) {
+        if (element instanceof CharSequence) {
+            CharSequence chars = (CharSequence) element;
+            // 64 bit FNV-1a over the chars, mixed because its high bits pick the register
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash ^= chars.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        if (element instanceof Long || element instanceof Integer || element instanceof Short || element instanceof Byte) {
+            // mix is a bijection, so distinct values never collide
+            return mix(((Number) element).longValue());
+        }
+        if (element instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) element));
+        }
+        return mix(element == null ? 0 : element.hashCode());
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
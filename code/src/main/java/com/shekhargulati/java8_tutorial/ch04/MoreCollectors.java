@@ -0,0 +1,180 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+import static java.util.stream.Collector.Characteristics.CONCURRENT;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Collectors for the chapter 04 examples that avoid boxing and use containers that are cheap to merge. Grouping by an enum
+ * keeps one slot per constant in an array instead of a HashMap, counting collectors count into primitives, and the
+ * concurrent variants let a parallel stream share a single container instead of merging one per thread.
+ */
+public class MoreCollectors {
+
+    /**
+     * Same as <code>groupingBy(classifier)</code> for an enum classifier such as <code>Task::getType</code>.
+     */
+    public static <T, E extends Enum<E>> Collector<T, ?, EnumMap<E, List<T>>> groupingByEnum(Class<E> type, Function<? super T, E> classifier) {
+        return groupingByEnum(type, classifier, toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Enum<E>, A, D> Collector<T, ?, EnumMap<E, D>> groupingByEnum(Class<E> type, Function<? super T, E> classifier, Collector<? super T, A, D> downstream) {
+        E[] constants = type.getEnumConstants();
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super T> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Function<A, D> downstreamFinisher = downstream.finisher();
+        return Collector.<T, Object[], EnumMap<E, D>>of(
+                () -> new Object[constants.length],
+                (containers, element) -> {
+                    int ordinal = classifier.apply(element).ordinal();
+                    if (containers[ordinal] == null) {
+                        containers[ordinal] = downstreamSupplier.get();
+                    }
+                    downstreamAccumulator.accept((A) containers[ordinal], element);
+                },
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        if (right[i] != null) {
+                            left[i] = left[i] == null ? right[i] : downstreamCombiner.apply((A) left[i], (A) right[i]);
+                        }
+                    }
+                    return left;
+                },
+                containers -> {
+                    EnumMap<E, D> result = new EnumMap<>(type);
+                    for (int i = 0; i < containers.length; i++) {
+                        if (containers[i] != null) {
+                            result.put(constants[i], downstreamFinisher.apply((A) containers[i]));
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Same as <code>groupingBy(classifier, counting())</code> for an enum classifier, counting into a long[].
+     */
+    public static <T, E extends Enum<E>> Collector<T, ?, EnumMap<E, Long>> countingByEnum(Class<E> type, Function<? super T, E> classifier) {
+        E[] constants = type.getEnumConstants();
+        return Collector.<T, long[], EnumMap<E, Long>>of(
+                () -> new long[constants.length],
+                (counts, element) -> counts[classifier.apply(element).ordinal()]++,
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                    return left;
+                },
+                counts -> toEnumMap(type, constants, counts),
+                UNORDERED);
+    }
+
+    /**
+     * Like {@link #countingByEnum(Class, Function)} but all threads of a parallel stream count into the same
+     * {@link LongAdder}s.
+     */
+    public static <T, E extends Enum<E>> Collector<T, ?, EnumMap<E, Long>> countingByEnumConcurrent(Class<E> type, Function<? super T, E> classifier) {
+        E[] constants = type.getEnumConstants();
+        return Collector.<T, LongAdder[], EnumMap<E, Long>>of(
+                () -> {
+                    LongAdder[] counts = new LongAdder[constants.length];
+                    for (int i = 0; i < counts.length; i++) {
+                        counts[i] = new LongAdder();
+                    }
+                    return counts;
+                },
+                (counts, element) -> counts[classifier.apply(element).ordinal()].increment(),
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i].add(right[i].sum());
+                    }
+                    return left;
+                },
+                counts -> {
+                    long[] sums = new long[counts.length];
+                    for (int i = 0; i < counts.length; i++) {
+                        sums[i] = counts[i].sum();
+                    }
+                    return toEnumMap(type, constants, sums);
+                },
+                CONCURRENT, UNORDERED);
+    }
+
+    /**
+     * Counts elements by a string key into an unboxed {@link WordCountTable}. Use it after
+     * <code>flatMap(task -> task.getTags().stream())</code> to count tags.
+     */
+    public static <T> Collector<T, ?, WordCountTable> countingBy(Function<? super T, ? extends CharSequence> classifier) {
+        return Collector.of(
+                WordCountTable::new,
+                (table, element) -> table.increment(classifier.apply(element)),
+                WordCountTable::merge,
+                UNORDERED);
+    }
+
+    /**
+     * Same as <code>groupingByConcurrent(classifier, counting())</code> but counting with {@link LongAdder}s
+     * instead of boxing a new Long for every element.
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> countingByConcurrent(Function<? super T, ? extends K> classifier) {
+        return Collector.<T, ConcurrentHashMap<K, LongAdder>, Map<K, Long>>of(
+                ConcurrentHashMap::new,
+                (counts, element) -> counts.computeIfAbsent(classifier.apply(element), key -> new LongAdder()).increment(),
+                (left, right) -> {
+                    right.forEach((key, count) -> left.computeIfAbsent(key, k -> new LongAdder()).add(count.sum()));
+                    return left;
+                },
+                counts -> {
+                    Map<K, Long> result = new ConcurrentHashMap<>(counts.size() * 2);
+                    counts.forEach((key, count) -> result.put(key, count.sum()));
+                    return result;
+                },
+                CONCURRENT, UNORDERED);
+    }
+
+    /**
+     * Estimates how many distinct values the mapper produces, see {@link HyperLogLog}.
+     */
+    public static <T> Collector<T, ?, HyperLogLog> distinctCount(Function<? super T, ?> mapper) {
+        return Collector.of(
+                HyperLogLog::new,
+                (sketch, element) -> sketch.add(mapper.apply(element)),
+                HyperLogLog::merge,
+                UNORDERED);
+    }
+
+    /**
+     * Collects the values into a {@link QuantileSketch} with 1% relative accuracy.
+     */
+    public static <T> Collector<T, ?, QuantileSketch> quantiles(ToDoubleFunction<? super T> mapper) {
+        return Collector.of(
+                QuantileSketch::new,
+                (sketch, element) -> sketch.add(mapper.applyAsDouble(element)),
+                QuantileSketch::merge,
+                UNORDERED);
+    }
+
+    private static <E extends Enum<E>> EnumMap<E, Long> toEnumMap(Class<E> type, E[] constants, long[] counts) {
+        EnumMap<E, Long> result = new EnumMap<>(type);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(constants[i], counts[i]);
+            }
+        }
+        return result;
+    }
+}
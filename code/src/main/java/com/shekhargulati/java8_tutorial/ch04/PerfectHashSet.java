@@ -0,0 +1,107 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable set of strings built with two level (FKS) perfect hashing. Every word is placed in a bucket and every
+ * bucket of k words gets its own table of k * k slots with a seed that sends each of its words to a different slot.
+ * A lookup therefore computes two hashes and compares with at most one word, whatever the data looks like.
+ */
+public class PerfectHashSet {
+
+    private static final int MAX_SEED_ATTEMPTS = 1 << 16;
+
+    private final int[] bucketSeeds;
+    private final int[] bucketOffsets;
+    private final int[] bucketSizes;
+    private final String[] slots;
+    private final int size;
+
+    private PerfectHashSet(int[] bucketSeeds, int[] bucketOffsets, int[] bucketSizes, String[] slots, int size) {
+        this.bucketSeeds = bucketSeeds;
+        this.bucketOffsets = bucketOffsets;
+        this.bucketSizes = bucketSizes;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    public static PerfectHashSet of(Collection<String> words) {
+        Set<String> distinct = new LinkedHashSet<>(words);
+        int bucketCount = Math.max(1, distinct.size());
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        distinct.forEach(word -> buckets.get(Math.floorMod(hash(word, 0), bucketCount)).add(word));
+
+        int[] seeds = new int[bucketCount];
+        int[] offsets = new int[bucketCount];
+        int[] sizes = new int[bucketCount];
+        int totalSlots = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            int k = buckets.get(b).size();
+            offsets[b] = totalSlots;
+            sizes[b] = k * k;
+            totalSlots += k * k;
+        }
+        String[] slots = new String[totalSlots];
+        for (int b = 0; b < bucketCount; b++) {
+            seeds[b] = place(buckets.get(b), slots, offsets[b], sizes[b]);
+        }
+        return new PerfectHashSet(seeds, offsets, sizes, slots, distinct.size());
+    }
+
+    public boolean contains(CharSequence word) {
+        int bucket = Math.floorMod(hash(word, 0), bucketSeeds.length);
+        int bucketSize = bucketSizes[bucket];
+        if (bucketSize == 0) {
+            return false;
+        }
+        String candidate = slots[bucketOffsets[bucket] + Math.floorMod(hash(word, bucketSeeds[bucket]), bucketSize)];
+        return candidate != null && WordCountTable.contentEquals(candidate, word);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int place(List<String> words, String[] slots, int offset, int size) {
+        if (words.isEmpty()) {
+            return 0;
+        }
+        for (int seed = 1; seed < MAX_SEED_ATTEMPTS; seed++) {
+            if (tryPlace(words, slots, offset, size, seed)) {
+                return seed;
+            }
+        }
+        throw new IllegalStateException("Could not find a collision free seed for " + words);
+    }
+
+    private static boolean tryPlace(List<String> words, String[] slots, int offset, int size, int seed) {
+        for (String word : words) {
+            int slot = offset + Math.floorMod(hash(word, seed), size);
+            if (slots[slot] != null) {
+                for (int i = offset; i < offset + size; i++) {
+                    slots[i] = null;
+                }
+                return false;
+            }
+            slots[slot] = word;
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence word, int seed) {
+        int hash = 0x9E3779B9 * (seed + 1);
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x01000193;
+        }
+        hash ^= hash >>> 15;
+        hash *= 0x2C1B3C6D;
+        return hash ^ (hash >>> 12);
+    }
+}
@@ -0,0 +1,114 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import com.shekhargulati.java8_tutorial.utils.DataUtils;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Word count over a stream of lines that splits and normalizes words the same way as the chapter 04 example
+ * (whitespace separated, only a-z kept, lower cased) but counts into a {@link WordCountTable} per stream segment,
+ * so a parallel run merges a few int tables instead of many maps of boxed Longs.
+ */
+public class WordCount implements Collector<String, WordCount.Counter, WordCountTable> {
+
+    private final PerfectHashSet only;
+
+    private WordCount(PerfectHashSet only) {
+        this.only = only;
+    }
+
+    public static Collector<String, ?, WordCountTable> wordCount() {
+        return new WordCount(null);
+    }
+
+    /**
+     * Counts only the words in the given set, e.g. the negative words of a sentiment lexicon.
+     */
+    public static Collector<String, ?, WordCountTable> wordCount(PerfectHashSet only) {
+        return new WordCount(only);
+    }
+
+    public static PerfectHashSet negativeWords() {
+        try (Stream<String> words = DataUtils.negativeWords()) {
+            return PerfectHashSet.of(words
+                    .map(String::trim)
+                    .filter(word -> !word.isEmpty() && !word.startsWith(";"))
+                    .collect(toList()));
+        }
+    }
+
+    public static void main(String[] args) {
+        WordCountTable wordCount = DataUtils.lines().parallel().collect(wordCount());
+        wordCount.topK(10).forEach(e -> System.out.println(String.format("%s ==>> %d", e.getKey(), e.getValue())));
+
+        WordCountTable negativeWordCount = DataUtils.lines().parallel().collect(wordCount(negativeWords()));
+        negativeWordCount.topK(10).forEach(e -> System.out.println(String.format("%s ==>> %d", e.getKey(), e.getValue())));
+    }
+
+    @Override
+    public Supplier<Counter> supplier() {
+        return () -> new Counter(only);
+    }
+
+    @Override
+    public BiConsumer<Counter, String> accumulator() {
+        return Counter::countWords;
+    }
+
+    @Override
+    public BinaryOperator<Counter> combiner() {
+        return (c1, c2) -> {
+            c1.table.merge(c2.table);
+            return c1;
+        };
+    }
+
+    @Override
+    public Function<Counter, WordCountTable> finisher() {
+        return counter -> counter.table;
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return EnumSet.of(Characteristics.UNORDERED);
+    }
+
+    static class Counter {
+
+        private final WordCountTable table = new WordCountTable();
+        private final StringBuilder word = new StringBuilder();
+        private final PerfectHashSet only;
+
+        Counter(PerfectHashSet only) {
+            this.only = only;
+        }
+
+        void countWords(String line) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    flush();
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    word.append(Character.toLowerCase(c));
+                }
+            }
+            flush();
+        }
+
+        private void flush() {
+            if (word.length() > 0 && (only == null || only.contains(word))) {
+                table.increment(word);
+            }
+            word.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+import static com.shekhargulati.java8_tutorial.ch03.TopNCollector.topN;
+
+/**
+ * Open addressing hash table from word to an unboxed int count. Words are looked up by {@link CharSequence} so a
+ * word that is already in the table is counted without creating a String for it.
+ */
+public class WordCountTable {
+
+    private String[] words;
+    private int[] hashes;
+    private int[] counts;
+    private int size;
+
+    public WordCountTable() {
+        this(1024);
+    }
+
+    public WordCountTable(int expectedWords) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedWords * 2 - 1)) << 1;
+        words = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    public void increment(CharSequence word) {
+        add(word, hash(word), 1);
+    }
+
+    public int count(CharSequence word) {
+        int hash = hash(word);
+        int mask = words.length - 1;
+        for (int slot = hash & mask; words[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && contentEquals(words[slot], word)) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public WordCountTable merge(WordCountTable other) {
+        for (int slot = 0; slot < other.words.length; slot++) {
+            if (other.words[slot] != null) {
+                add(other.words[slot], other.hashes[slot], other.counts[slot]);
+            }
+        }
+        return this;
+    }
+
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int slot = 0; slot < words.length; slot++) {
+            if (words[slot] != null) {
+                action.accept(words[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return the k most frequent words, most frequent first and alphabetically among equal counts
+     */
+    public List<SimpleEntry<String, Integer>> topK(int k) {
+        Comparator<SimpleEntry<String, Integer>> byCountDesc = (e1, e2) -> Integer.compare(e2.getValue(), e1.getValue());
+        return IntStream.range(0, words.length)
+                .filter(slot -> words[slot] != null)
+                .mapToObj(slot -> new SimpleEntry<>(words[slot], counts[slot]))
+                .collect(topN(k, byCountDesc.thenComparing(SimpleEntry::getKey)));
+    }
+
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new HashMap<>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    private void add(CharSequence word, int hash, int count) {
+        int mask = words.length - 1;
+        int slot = hash & mask;
+        while (words[slot] != null) {
+            if (hashes[slot] == hash && contentEquals(words[slot], word)) {
+                counts[slot] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        words[slot] = word.toString();
+        hashes[slot] = hash;
+        counts[slot] = count;
+        if (++size * 2 > words.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        String[] oldWords = words;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        words = new String[oldWords.length * 2];
+        hashes = new int[oldWords.length * 2];
+        counts = new int[oldWords.length * 2];
+        int mask = words.length - 1;
+        for (int i = 0; i < oldWords.length; i++) {
+            if (oldWords[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (words[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                words[slot] = oldWords[i];
+                hashes[slot] = oldHashes[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int hash(CharSequence word) {
+        int hash = 0;
+        for (int i = 0; i < word.length(); i++) {
+            hash = 31 * hash + word.charAt(i);
+        }
+        // spread the high bits as linear probing only looks at the low ones
+        return hash ^ (hash >>> 16);
+    }
+
+    static boolean contentEquals(String word, CharSequence other) {
+        if (word.length() != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
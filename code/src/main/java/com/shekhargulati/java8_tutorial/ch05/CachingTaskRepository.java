@@ -0,0 +1,45 @@
+package com.shekhargulati.java8_tutorial.ch05;
+
+import com.shekhargulati.java8_tutorial.ch05.cache.CacheStats;
+import com.shekhargulati.java8_tutorial.ch05.cache.EvictionPolicy;
+import com.shekhargulati.java8_tutorial.ch05.cache.ReadThroughCache;
+import com.shekhargulati.java8_tutorial.ch05.domain.Task;
+
+import java.time.Duration;
+
+/**
+ * {@link TaskRepository} that reads through a {@link ReadThroughCache} in front of another repository.
+ * Ids the backing repository doesn't know are cached as missing, so repeated lookups of them fail with
+ * {@link TaskNotFoundException} without reaching the backing repository.
+ */
+public class CachingTaskRepository extends TaskRepository {
+
+    private final TaskRepository delegate;
+    private final ReadThroughCache<String, Task> cache;
+
+    public CachingTaskRepository(TaskRepository delegate, EvictionPolicy evictionPolicy, int maximumSize, Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.cache = new ReadThroughCache<>(delegate::findOrNull, evictionPolicy, maximumSize, expireAfterWrite);
+    }
+
+    @Override
+    public void loadData() {
+        delegate.loadData();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void save(Task task) {
+        delegate.save(task);
+        cache.invalidate(task.getId());
+    }
+
+    @Override
+    public Task findOrNull(String id) {
+        return id == null ? null : cache.get(id);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+}
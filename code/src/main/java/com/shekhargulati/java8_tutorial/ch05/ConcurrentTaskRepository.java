@@ -0,0 +1,19 @@
+package com.shekhargulati.java8_tutorial.ch05;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link TaskRepository} that can be read and written from many threads at once. It is backed by a
+ * {@link ConcurrentHashMap}, which already locks per bin on writes and never locks on reads, so there is no need
+ * for a second layer of shards on top of it.
+ */
+public class ConcurrentTaskRepository extends TaskRepository {
+
+    public ConcurrentTaskRepository() {
+        super(new ConcurrentHashMap<>());
+    }
+
+    public ConcurrentTaskRepository(int expectedSize) {
+        super(new ConcurrentHashMap<>(expectedSize));
+    }
+}
@@ -4,27 +4,63 @@ package com.shekhargulati.java8_tutorial.ch05;
 
 import com.shekhargulati.java8_tutorial.ch05.domain.Task;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
 public class TaskRepository {
 
-    private final Map<String, Task> db = new HashMap<>();
+    private final Map<String, Task> db;
+
+    public TaskRepository() {
+        this(new HashMap<>());
+    }
+
+    protected TaskRepository(Map<String, Task> db) {
+        this.db = db;
+    }
 
     public void loadData() {
-        db.put("1", new Task("1", "hello java 1"));
-        db.put("2", new Task("2", "hello java 2"));
-        db.put("3", new Task("3", "hello java 3"));
-        db.put("4", new Task("4", "hello java 4"));
-        db.put("5", new Task("5", "hello java 5"));
+        save(new Task("1", "hello java 1"));
+        save(new Task("2", "hello java 2"));
+        save(new Task("3", "hello java 3"));
+        save(new Task("4", "hello java 4"));
+        save(new Task("5", "hello java 5"));
+    }
+
+    public void save(Task task) {
+        db.put(task.getId(), task);
     }
 
     public Task find(String id) {
-        return Optional.ofNullable(db.get(id))
+        return Optional.ofNullable(findOrNull(id))
                 .orElseThrow(() -> new TaskNotFoundException(id));
     }
 
+    /**
+     * Same as {@link #find(String)} but returns null for an unknown or null id instead of throwing.
+     */
+    public Task findOrNull(String id) {
+        // ConcurrentHashMap doesn't accept null keys, HashMap does
+        return id == null ? null : db.get(id);
+    }
+
+    /**
+     * @return the tasks found for the given ids, in the order of the ids. Unknown ids are left out.
+     */
+    public Map<String, Task> findAll(Collection<String> ids) {
+        Map<String, Task> tasks = new LinkedHashMap<>(ids.size() * 2);
+        for (String id : ids) {
+            Task task = findOrNull(id);
+            if (task != null) {
+                tasks.put(id, task);
+            }
+        }
+        return tasks;
+    }
+
     public Optional<String> taskAssignedTo(String id) {
         return Optional.ofNullable(find(id))
                 .flatMap(task -> task.getAssignedTo())
@@ -0,0 +1,82 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordLoad() {
+        loads.increment();
+    }
+
+    void recordLoadFailure() {
+        loadFailures.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordExpiration() {
+        expirations.increment();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long loadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * @return all counters by name, ready to be exported to a metrics system
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", hitCount());
+        snapshot.put("misses", missCount());
+        snapshot.put("loads", loadCount());
+        snapshot.put("loadFailures", loadFailureCount());
+        snapshot.put("evictions", evictionCount());
+        snapshot.put("expirations", expirationCount());
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats" + snapshot();
+    }
+}
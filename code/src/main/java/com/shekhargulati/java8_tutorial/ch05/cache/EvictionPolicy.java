@@ -0,0 +1,37 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used entry.
+     */
+    LRU {
+        @Override
+        <K> Policy<K> create(int maximumSize) {
+            return new LruPolicy<>(maximumSize);
+        }
+    },
+
+    /**
+     * Evicts the least frequently used entry, the least recently used one among equal frequencies.
+     */
+    LFU {
+        @Override
+        <K> Policy<K> create(int maximumSize) {
+            return new LfuPolicy<>(maximumSize);
+        }
+    },
+
+    /**
+     * Small LRU window in front of a segmented LRU main area. An entry leaving the window only gets into the main
+     * area if it has been asked for more often than the entry it would push out.
+     */
+    W_TINY_LFU {
+        @Override
+        <K> Policy<K> create(int maximumSize) {
+            return new TinyLfuPolicy<>(maximumSize);
+        }
+    };
+
+    abstract <K> Policy<K> create(int maximumSize);
+}
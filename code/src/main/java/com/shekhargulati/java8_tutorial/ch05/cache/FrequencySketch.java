@@ -0,0 +1,62 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+/**
+ * Count-min sketch estimating how often a key was seen. Counters are halved once the number of increments
+ * reaches ten times the cache size, so old popularity fades away.
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x97CB3127, 0xB3D6F4C1, 0x5C8E1F6B, 0x2F1A4D93};
+
+    private final int[][] counters;
+    private final int mask;
+    private final int resetAfter;
+    private int increments;
+
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+        counters = new int[DEPTH][width];
+        mask = width - 1;
+        resetAfter = 10 * Math.max(16, maximumSize);
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        for (int i = 0; i < DEPTH; i++) {
+            counters[i][index(hash, i)]++;
+        }
+        if (++increments == resetAfter) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, counters[i][index(hash, i)]);
+        }
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void reset() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        increments /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xED5AD4BB;
+        return hash ^ (hash >>> 11);
+    }
+}
@@ -0,0 +1,72 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static com.shekhargulati.java8_tutorial.ch05.cache.LruPolicy.removeHead;
+
+/**
+ * Constant time LFU: keys are kept in one LRU ordered bucket per frequency.
+ */
+class LfuPolicy<K> implements Policy<K> {
+
+    private final int maximumSize;
+    private final Map<K, Integer> frequencies = new HashMap<>();
+    private final Map<Integer, LinkedHashSet<K>> buckets = new HashMap<>();
+    private int minFrequency;
+
+    LfuPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public void onHit(K key) {
+        Integer frequency = frequencies.get(key);
+        if (frequency == null) {
+            return;
+        }
+        LinkedHashSet<K> bucket = buckets.get(frequency);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(frequency);
+            if (minFrequency == frequency) {
+                minFrequency++;
+            }
+        }
+        frequencies.put(key, frequency + 1);
+        buckets.computeIfAbsent(frequency + 1, f -> new LinkedHashSet<>()).add(key);
+    }
+
+    @Override
+    public K onInsert(K key) {
+        K victim = null;
+        if (frequencies.size() >= maximumSize) {
+            LinkedHashSet<K> bucket = buckets.get(minFrequency);
+            victim = removeHead(bucket);
+            if (bucket.isEmpty()) {
+                buckets.remove(minFrequency);
+            }
+            frequencies.remove(victim);
+        }
+        frequencies.put(key, 1);
+        buckets.computeIfAbsent(1, f -> new LinkedHashSet<>()).add(key);
+        minFrequency = 1;
+        return victim;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Integer frequency = frequencies.remove(key);
+        if (frequency != null) {
+            LinkedHashSet<K> bucket = buckets.get(frequency);
+            bucket.remove(key);
+            if (bucket.isEmpty()) {
+                buckets.remove(frequency);
+                if (minFrequency == frequency) {
+                    minFrequency = buckets.keySet().stream().mapToInt(Integer::intValue).min().orElse(0);
+                }
+            }
+        }
+    }
+}
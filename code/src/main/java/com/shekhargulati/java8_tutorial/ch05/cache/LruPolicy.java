@@ -0,0 +1,43 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+class LruPolicy<K> implements Policy<K> {
+
+    private final int maximumSize;
+    private final LinkedHashSet<K> keys = new LinkedHashSet<>();
+
+    LruPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public void onHit(K key) {
+        moveToTail(keys, key);
+    }
+
+    @Override
+    public K onInsert(K key) {
+        keys.add(key);
+        return keys.size() > maximumSize ? removeHead(keys) : null;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        keys.remove(key);
+    }
+
+    static <K> void moveToTail(LinkedHashSet<K> keys, K key) {
+        if (keys.remove(key)) {
+            keys.add(key);
+        }
+    }
+
+    static <K> K removeHead(LinkedHashSet<K> keys) {
+        Iterator<K> iterator = keys.iterator();
+        K head = iterator.next();
+        iterator.remove();
+        return head;
+    }
+}
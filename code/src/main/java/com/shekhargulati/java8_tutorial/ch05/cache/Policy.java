@@ -0,0 +1,16 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+/**
+ * Decides which key leaves a full cache. Calls are made while the cache holds its lock.
+ */
+interface Policy<K> {
+
+    void onHit(K key);
+
+    /**
+     * @return the key that has to be evicted to make room, possibly the inserted key itself, or null
+     */
+    K onInsert(K key);
+
+    void onRemove(K key);
+}
@@ -0,0 +1,171 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache that loads missing values through a loader function.
+ * <ul>
+ * <li>At most <code>maximumSize</code> entries are kept, the {@link EvictionPolicy} picks what goes.</li>
+ * <li>Entries older than <code>expireAfterWrite</code> are treated as missing.</li>
+ * <li>A null returned by the loader is cached as well, so unknown keys don't hit the loader again.</li>
+ * <li>Concurrent misses on the same key share a single load.</li>
+ * </ul>
+ * Entries and eviction bookkeeping are guarded by one lock which is never held while loading.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final Function<K, V> loader;
+    private final Policy<K> policy;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier nanoTime;
+    private final Map<K, Entry<V>> entries = new HashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public ReadThroughCache(Function<K, V> loader, EvictionPolicy evictionPolicy, int maximumSize, Duration expireAfterWrite) {
+        this(loader, evictionPolicy, maximumSize, expireAfterWrite, System::nanoTime);
+    }
+
+    ReadThroughCache(Function<K, V> loader, EvictionPolicy evictionPolicy, int maximumSize, Duration expireAfterWrite, LongSupplier nanoTime) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.loader = loader;
+        this.policy = evictionPolicy.create(maximumSize);
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return the cached or freshly loaded value, null if the loader has none for this key
+     */
+    public V get(K key) {
+        Entry<V> entry = lookup(key);
+        if (entry != null) {
+            stats.recordHit();
+            return entry.value;
+        }
+        stats.recordMiss();
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            // the value may have been stored by a load that finished after our lookup
+            entry = lookup(key);
+            V value = entry != null ? entry.value : load(key, load);
+            load.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or callers waiting on this load would block forever
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Also cancels a load of the key that is in flight: its callers still get the value it loads but it is not cached.
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            loading.remove(key);
+            if (entries.remove(key) != null) {
+                policy.onRemove(key);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            loading.clear();
+            entries.keySet().forEach(policy::onRemove);
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats stats() {
+        return stats;
+    }
+
+    private Entry<V> lookup(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (nanoTime.getAsLong() - entry.writtenAt >= expireAfterWriteNanos) {
+                entries.remove(key);
+                policy.onRemove(key);
+                stats.recordExpiration();
+                return null;
+            }
+            policy.onHit(key);
+            return entry;
+        }
+    }
+
+    private V load(K key, CompletableFuture<V> load) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            stats.recordLoadFailure();
+            throw e;
+        }
+        stats.recordLoad();
+        synchronized (entries) {
+            if (loading.get(key) != load) {
+                // invalidated while loading, the value may already be stale
+                return value;
+            }
+            if (entries.put(key, new Entry<>(value, nanoTime.getAsLong())) == null) {
+                K victim = policy.onInsert(key);
+                if (victim != null) {
+                    entries.remove(victim);
+                    stats.recordEviction();
+                }
+            }
+        }
+        return value;
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long writtenAt;
+
+        Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import java.util.LinkedHashSet;
+
+import static com.shekhargulati.java8_tutorial.ch05.cache.LruPolicy.moveToTail;
+import static com.shekhargulati.java8_tutorial.ch05.cache.LruPolicy.removeHead;
+
+/**
+ * W-TinyLFU: 1% of the entries live in an LRU window, the rest in a segmented LRU split into probation (20%) and
+ * protected (80%). An entry pushed out of the window competes with the head of probation and the one the
+ * {@link FrequencySketch} has seen less often is evicted.
+ */
+class TinyLfuPolicy<K> implements Policy<K> {
+
+    private final int windowMaximum;
+    private final int mainMaximum;
+    private final int protectedMaximum;
+    private final FrequencySketch sketch;
+    private final LinkedHashSet<K> window = new LinkedHashSet<>();
+    private final LinkedHashSet<K> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<K> protectedKeys = new LinkedHashSet<>();
+
+    TinyLfuPolicy(int maximumSize) {
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.mainMaximum = maximumSize - windowMaximum;
+        this.protectedMaximum = mainMaximum * 8 / 10;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public void onHit(K key) {
+        sketch.increment(key);
+        if (window.contains(key)) {
+            moveToTail(window, key);
+        } else if (probation.remove(key)) {
+            protectedKeys.add(key);
+            if (protectedKeys.size() > protectedMaximum) {
+                probation.add(removeHead(protectedKeys));
+            }
+        } else {
+            moveToTail(protectedKeys, key);
+        }
+    }
+
+    @Override
+    public K onInsert(K key) {
+        sketch.increment(key);
+        window.add(key);
+        if (window.size() <= windowMaximum) {
+            return null;
+        }
+        K candidate = removeHead(window);
+        if (probation.size() + protectedKeys.size() < mainMaximum) {
+            probation.add(candidate);
+            return null;
+        }
+        if (mainMaximum == 0) {
+            return candidate;
+        }
+        LinkedHashSet<K> victims = probation.isEmpty() ? protectedKeys : probation;
+        K victim = victims.iterator().next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            victims.remove(victim);
+            probation.add(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        if (!window.remove(key) && !probation.remove(key)) {
+            protectedKeys.remove(key);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.shekhargulati.java8_tutorial.ch06;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Open addressing hash map from an unboxed long key to a value, so neither the keys nor entry objects are
+ * allocated. Values may not be null. The collectors mirror {@link java.util.stream.Collectors#toMap}:
+ * <pre>
+ * LongKeyMap&lt;Task&gt; tasksById = tasks.stream().collect(toLongKeyMap(Task::getLongId, identity()));
+ * </pre>
+ */
+public class LongKeyMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    public LongKeyMap() {
+        this(16);
+    }
+
+    public LongKeyMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    public static <T, V> Collector<T, ?, LongKeyMap<V>> toLongKeyMap(ToLongFunction<? super T> keyMapper,
+                                                                   Function<? super T, ? extends V> valueMapper) {
+        return toLongKeyMap(keyMapper, valueMapper, (v1, v2) -> {
+            throw new IllegalStateException(String.format("Duplicate key (attempted merging values %s and %s)", v1, v2));
+        });
+    }
+
+    public static <T, V> Collector<T, ?, LongKeyMap<V>> toLongKeyMap(ToLongFunction<? super T> keyMapper,
+                                                                   Function<? super T, ? extends V> valueMapper,
+                                                                   BinaryOperator<V> mergeFunction) {
+        return Collector.of(
+                LongKeyMap::new,
+                (map, element) -> map.merge(keyMapper.applyAsLong(element), valueMapper.apply(element), mergeFunction),
+                (left, right) -> {
+                    right.forEach((key, value) -> left.merge(key, value, mergeFunction));
+                    return left;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return slot(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value);
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V merge(long key, V value, BinaryOperator<V> mergeFunction) {
+        int slot = slot(key);
+        if (slot < 0) {
+            put(key, value);
+            return value;
+        }
+        V merged = Objects.requireNonNull(mergeFunction.apply((V) values[slot], value));
+        values[slot] = merged;
+        return merged;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        // time ordered ids differ mostly in their low and middle bits, multiplying mixes them into the high bits
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,203 @@
+package com.shekhargulati.java8_tutorial.ch07;
+
+import com.shekhargulati.java8_tutorial.ch05.cache.EvictionPolicy;
+import com.shekhargulati.java8_tutorial.ch05.cache.ReadThroughCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Building blocks for composing functions without paying for them more than once:
+ * <ul>
+ * <li>{@link #memoize(Function, int)} remembers the results of a pure function for the most recently used inputs</li>
+ * <li>{@link #lazy(Supplier)} defers a computation until it is first needed and then runs it exactly once</li>
+ * <li>{@link #chain(IntUnaryOperator...)} composes int functions without boxing or nesting one lambda per step</li>
+ * <li>{@link #allOf(Predicate[])} and {@link #anyOf(Predicate[])}, and their int versions, fuse predicates into a single
+ * short-circuiting loop</li>
+ * </ul>
+ */
+public class Functions {
+
+    private static final Duration NEVER = Duration.ofNanos(Long.MAX_VALUE);
+    private static final Object NULL_KEY = new Object();
+
+    private Functions() {
+    }
+
+    /**
+     * Caches up to {@code maximumSize} results, evicting the least recently used one. Safe to call from many threads,
+     * concurrent calls with the same input share a single call to the function. A null input is passed to the
+     * function and its result cached like any other.
+     * <p>
+     * Every call, hit or miss, briefly takes the one lock of the underlying {@link ReadThroughCache} to keep the LRU
+     * order exact. Memoizing pays off for functions that cost more than that lock, a very cheap function called from
+     * many threads at once is faster called directly.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Function<T, R> memoize(Function<T, R> function, int maximumSize) {
+        // the cache keeps in-flight loads in a ConcurrentHashMap, which has no room for a null key
+        ReadThroughCache<Object, R> cache = new ReadThroughCache<>(
+                key -> function.apply(key == NULL_KEY ? null : (T) key), EvictionPolicy.LRU, maximumSize, NEVER);
+        return input -> cache.get(input == null ? NULL_KEY : input);
+    }
+
+    public static <T> Supplier<T> lazy(Supplier<T> supplier) {
+        return new Lazy<>(supplier);
+    }
+
+    /**
+     * @return an operator applying the given ones from first to last
+     */
+    public static IntUnaryOperator chain(IntUnaryOperator... operators) {
+        IntUnaryOperator[] steps = operators.clone();
+        switch (steps.length) {
+            case 0:
+                return IntUnaryOperator.identity();
+            case 1:
+                return steps[0];
+            case 2:
+                IntUnaryOperator first = steps[0];
+                IntUnaryOperator second = steps[1];
+                return value -> second.applyAsInt(first.applyAsInt(value));
+            default:
+                return value -> {
+                    for (IntUnaryOperator step : steps) {
+                        value = step.applyAsInt(value);
+                    }
+                    return value;
+                };
+        }
+    }
+
+    /**
+     * Predicates produced by an earlier allOf are inlined, so fusing fused predicates still gives one flat loop.
+     */
+    @SafeVarargs
+    public static <T> Predicate<T> allOf(Predicate<? super T>... predicates) {
+        List<Predicate<? super T>> tests = new ArrayList<>(predicates.length);
+        for (Predicate<? super T> predicate : predicates) {
+            addFlattened(tests, predicate, AllOf.class);
+        }
+        return new AllOf<>(tests);
+    }
+
+    @SafeVarargs
+    public static <T> Predicate<T> anyOf(Predicate<? super T>... predicates) {
+        List<Predicate<? super T>> tests = new ArrayList<>(predicates.length);
+        for (Predicate<? super T> predicate : predicates) {
+            addFlattened(tests, predicate, AnyOf.class);
+        }
+        return new AnyOf<>(tests);
+    }
+
+    public static IntPredicate allOfInt(IntPredicate... predicates) {
+        IntPredicate[] tests = predicates.clone();
+        return value -> {
+            for (IntPredicate test : tests) {
+                if (!test.test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    public static IntPredicate anyOfInt(IntPredicate... predicates) {
+        IntPredicate[] tests = predicates.clone();
+        return value -> {
+            for (IntPredicate test : tests) {
+                if (test.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void addFlattened(List<Predicate<? super T>> tests, Predicate<? super T> predicate, Class<?> fused) {
+        Objects.requireNonNull(predicate);
+        if (fused.isInstance(predicate)) {
+            for (Predicate<?> inner : ((Fused<?>) predicate).tests) {
+                tests.add((Predicate<? super T>) inner);
+            }
+        } else {
+            tests.add(predicate);
+        }
+    }
+
+    private abstract static class Fused<T> implements Predicate<T> {
+        final List<Predicate<? super T>> tests;
+
+        Fused(List<Predicate<? super T>> tests) {
+            this.tests = tests;
+        }
+    }
+
+    private static class AllOf<T> extends Fused<T> {
+        AllOf(List<Predicate<? super T>> tests) {
+            super(tests);
+        }
+
+        @Override
+        public boolean test(T value) {
+            for (int i = 0; i < tests.size(); i++) {
+                if (!tests.get(i).test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class AnyOf<T> extends Fused<T> {
+        AnyOf(List<Predicate<? super T>> tests) {
+            super(tests);
+        }
+
+        @Override
+        public boolean test(T value) {
+            for (int i = 0; i < tests.size(); i++) {
+                if (tests.get(i).test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Double checked locking: once computed, reading the value is a single volatile read. The supplier is dropped
+     * after it ran so whatever it captured can be garbage collected.
+     */
+    private static class Lazy<T> implements Supplier<T> {
+        private Supplier<T> supplier;
+        private volatile boolean computed;
+        private T value;
+
+        Lazy(Supplier<T> supplier) {
+            this.supplier = Objects.requireNonNull(supplier);
+        }
+
+        @Override
+        public T get() {
+            if (!computed) {
+                synchronized (this) {
+                    if (!computed) {
+                        value = supplier.get();
+                        computed = true;
+                        supplier = null;
+                    }
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.shekhargulati.java8_tutorial.ch09;
+
+import com.shekhargulati.java8_tutorial.ch05.TaskNotFoundException;
+import com.shekhargulati.java8_tutorial.ch05.TaskRepository;
+import com.shekhargulati.java8_tutorial.ch05.domain.Task;
+import com.shekhargulati.java8_tutorial.ch05.domain.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non blocking facade over a {@link TaskRepository}. Lookups made within <code>batchWindow</code> of each other
+ * are coalesced and served by one {@link TaskRepository#findAll(java.util.Collection)} call on the executor,
+ * a batch is sent early once it holds <code>maxBatchSize</code> lookups. A single timer thread is shared by all
+ * batches, no thread is created per request.
+ */
+public class AsyncTaskRepository implements AutoCloseable {
+
+    private final TaskRepository repository;
+    private final Executor executor;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private List<Lookup> pending = new ArrayList<>();
+    private ScheduledFuture<?> window;
+    private boolean closed;
+
+    /**
+     * @param executor runs the blocking {@link TaskRepository#findAll(java.util.Collection)} calls, so it should be
+     *                 a pool meant for blocking work such as the <code>io</code> executor of
+     *                 {@link com.shekhargulati.java8_tutorial.ch09.executor.ExecutorRegistry}, never
+     *                 {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    public AsyncTaskRepository(TaskRepository repository, Executor executor) {
+        this(repository, executor, Duration.ofMillis(1), 128);
+    }
+
+    public AsyncTaskRepository(TaskRepository repository, Executor executor, Duration batchWindow, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.repository = repository;
+        this.executor = executor;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "async-task-repository-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.timer = timer;
+    }
+
+    /**
+     * @return a future completed with the task or completed exceptionally with {@link TaskNotFoundException},
+     * or with {@link RejectedExecutionException} once the repository is closed
+     */
+    public CompletableFuture<Task> find(String id) {
+        Lookup lookup = new Lookup(id);
+        List<Lookup> full = null;
+        synchronized (this) {
+            if (closed) {
+                lookup.result.completeExceptionally(new RejectedExecutionException("AsyncTaskRepository is closed"));
+                return lookup.result;
+            }
+            pending.add(lookup);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+                cancelWindow();
+            } else if (pending.size() == 1) {
+                List<Lookup> batch = pending;
+                window = timer.schedule(() -> flush(batch), batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return lookup.result;
+    }
+
+    public CompletableFuture<Optional<String>> taskAssignedTo(String id) {
+        return find(id).thenApply(task -> task.getAssignedTo().map(User::getUsername));
+    }
+
+    /**
+     * Sends the lookups still waiting for their window to close and stops the timer.
+     */
+    @Override
+    public void close() {
+        List<Lookup> batch;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            batch = pending;
+            pending = new ArrayList<>();
+            cancelWindow();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+        timer.shutdown();
+    }
+
+    private void flush(List<Lookup> batch) {
+        synchronized (this) {
+            if (batch != pending) {
+                // already sent because it filled up
+                return;
+            }
+            pending = new ArrayList<>();
+            window = null;
+        }
+        dispatch(batch);
+    }
+
+    private void cancelWindow() {
+        if (window != null) {
+            window.cancel(false);
+            window = null;
+        }
+    }
+
+    private void dispatch(List<Lookup> batch) {
+        try {
+            executor.execute(() -> load(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(lookup -> lookup.result.completeExceptionally(e));
+        }
+    }
+
+    private void load(List<Lookup> batch) {
+        try {
+            LinkedHashSet<String> ids = new LinkedHashSet<>();
+            batch.forEach(lookup -> ids.add(lookup.id));
+            Map<String, Task> tasks = repository.findAll(ids);
+            for (Lookup lookup : batch) {
+                Task task = tasks.get(lookup.id);
+                if (task != null) {
+                    lookup.result.complete(task);
+                } else {
+                    lookup.result.completeExceptionally(new TaskNotFoundException(lookup.id));
+                }
+            }
+        } catch (Throwable e) {
+            // Errors too, or every lookup of the batch would stay pending forever
+            batch.forEach(lookup -> lookup.result.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private static class Lookup {
+        private final String id;
+        private final CompletableFuture<Task> result = new CompletableFuture<>();
+
+        Lookup(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.shekhargulati.java8_tutorial.ch09;
 
+import com.shekhargulati.java8_tutorial.ch09.executor.ExecutorRegistry;
+
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
 
 public class CompletableFutureExample {
 
     public static void main(String[] args) {
-        CompletableFuture.completedFuture("hello");
-        CompletableFuture.runAsync(() -> System.out.println("hello"));
-        CompletableFuture.runAsync(() -> System.out.println("hello"), Executors.newSingleThreadExecutor());
-        CompletableFuture.supplyAsync(() -> UUID.randomUUID().toString());
-        CompletableFuture.supplyAsync(() -> UUID.randomUUID().toString(), Executors.newSingleThreadExecutor());
+        try (ExecutorRegistry executors = ExecutorRegistry.withDefaults()) {
+            CompletableFuture.completedFuture("hello");
+            CompletableFuture.runAsync(() -> System.out.println("hello"));
+            CompletableFuture.runAsync(() -> System.out.println("hello"), executors.get(ExecutorRegistry.IO));
+            CompletableFuture.supplyAsync(() -> UUID.randomUUID().toString());
+            CompletableFuture.supplyAsync(() -> UUID.randomUUID().toString(), executors.get(ExecutorRegistry.CPU));
+
+            System.out.println(executors.metrics());
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.shekhargulati.java8_tutorial.ch09.executor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * What a bounded pool does with a task once all its threads are busy and its queue is full.
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * Throw {@link RejectedExecutionException}.
+     */
+    ABORT(new ThreadPoolExecutor.AbortPolicy()),
+
+    /**
+     * Run the task on the submitting thread, which slows the producer down. Once the pool is shut down the task
+     * is refused with {@link RejectedExecutionException} rather than silently dropped like
+     * {@link ThreadPoolExecutor.CallerRunsPolicy} does, so a future waiting on it can be failed.
+     */
+    CALLER_RUNS((task, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        task.run();
+    }),
+
+    /**
+     * Block the submitting thread until there is room in the queue.
+     */
+    BLOCK((task, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+        }
+        // the pool may have shut down while we waited, and then nothing would ever run the queued task
+        if (executor.isShutdown() && executor.remove(task)) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+    });
+
+    private final RejectedExecutionHandler handler;
+
+    BackpressurePolicy(RejectedExecutionHandler handler) {
+        this.handler = handler;
+    }
+
+    RejectedExecutionHandler handler() {
+        return handler;
+    }
+}
@@ -0,0 +1,88 @@
+package com.shekhargulati.java8_tutorial.ch09.executor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time view of a {@link ManagedExecutor}. Latencies are measured from submission to completion.
+ */
+public class ExecutorMetrics {
+
+    private final String name;
+    private final int queueDepth;
+    private final int activeThreads;
+    private final int poolSize;
+    private final long completedTasks;
+    private final long rejectedTasks;
+    private final long meanLatencyNanos;
+    private final long p50LatencyNanos;
+    private final long p99LatencyNanos;
+    private final long maxLatencyNanos;
+
+    ExecutorMetrics(String name, int queueDepth, int activeThreads, int poolSize, long rejectedTasks, LatencyHistogram latency) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.poolSize = poolSize;
+        this.completedTasks = latency.count();
+        this.rejectedTasks = rejectedTasks;
+        this.meanLatencyNanos = latency.mean();
+        this.p50LatencyNanos = latency.percentile(50);
+        this.p99LatencyNanos = latency.percentile(99);
+        this.maxLatencyNanos = latency.max();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks;
+    }
+
+    public long getMeanLatencyNanos() {
+        return meanLatencyNanos;
+    }
+
+    public long getP50LatencyNanos() {
+        return p50LatencyNanos;
+    }
+
+    public long getP99LatencyNanos() {
+        return p99LatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetrics{" +
+                "name='" + name + '\'' +
+                ", queueDepth=" + queueDepth +
+                ", activeThreads=" + activeThreads +
+                ", poolSize=" + poolSize +
+                ", completedTasks=" + completedTasks +
+                ", rejectedTasks=" + rejectedTasks +
+                ", p50=" + TimeUnit.NANOSECONDS.toMicros(p50LatencyNanos) + "us" +
+                ", p99=" + TimeUnit.NANOSECONDS.toMicros(p99LatencyNanos) + "us" +
+                ", max=" + TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos) + "us" +
+                '}';
+    }
+}
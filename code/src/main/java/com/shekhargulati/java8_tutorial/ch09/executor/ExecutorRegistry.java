@@ -0,0 +1,83 @@
+package com.shekhargulati.java8_tutorial.ch09.executor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the application's executors by name so that every async stage runs on a pool sized for its kind of work
+ * and all of them can be shut down together. {@link #withDefaults()} provides a work stealing <code>cpu</code>
+ * pool for computations and a bounded <code>io</code> pool for blocking calls, keeping blocking work off
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ */
+public class ExecutorRegistry implements AutoCloseable {
+
+    public static final String CPU = "cpu";
+    public static final String IO = "io";
+
+    private final Map<String, ManagedExecutor> executors = new ConcurrentHashMap<>();
+
+    public static ExecutorRegistry withDefaults() {
+        ExecutorRegistry registry = new ExecutorRegistry();
+        registry.registerWorkStealing(CPU, Runtime.getRuntime().availableProcessors());
+        registry.register(IO, 64, 10_000, BackpressurePolicy.CALLER_RUNS);
+        return registry;
+    }
+
+    public ManagedExecutor register(String name, int threads, int queueCapacity, BackpressurePolicy policy) {
+        return add(ManagedExecutor.bounded(name, threads, queueCapacity, policy));
+    }
+
+    public ManagedExecutor registerWorkStealing(String name, int parallelism) {
+        return add(ManagedExecutor.workStealing(name, parallelism));
+    }
+
+    public ManagedExecutor get(String name) {
+        ManagedExecutor executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("No executor registered with name: " + name);
+        }
+        return executor;
+    }
+
+    public Map<String, ExecutorMetrics> metrics() {
+        Map<String, ExecutorMetrics> metrics = new LinkedHashMap<>();
+        executors.forEach((name, executor) -> metrics.put(name, executor.metrics()));
+        return metrics;
+    }
+
+    /**
+     * Stops accepting tasks on every executor and waits up to <code>timeout</code> for running ones to finish.
+     *
+     * @return true if every executor terminated in time
+     */
+    public boolean shutdown(Duration timeout) {
+        executors.values().forEach(ManagedExecutor::shutdown);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean terminated = true;
+        try {
+            for (ManagedExecutor executor : executors.values()) {
+                Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                terminated &= executor.awaitTermination(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return terminated;
+    }
+
+    @Override
+    public void close() {
+        shutdown(Duration.ofSeconds(30));
+    }
+
+    private ManagedExecutor add(ManagedExecutor executor) {
+        if (executors.putIfAbsent(executor.getName(), executor) != null) {
+            executor.shutdown();
+            throw new IllegalArgumentException("An executor is already registered with name: " + executor.getName());
+        }
+        return executor;
+    }
+}
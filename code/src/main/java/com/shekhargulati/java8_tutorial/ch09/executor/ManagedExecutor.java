@@ -0,0 +1,104 @@
+package com.shekhargulati.java8_tutorial.ch09.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named executor that records how long its tasks take and how many it turned away.
+ * Pass it to <code>CompletableFuture.supplyAsync(supplier, executor)</code> like any other {@link Executor}.
+ */
+public class ManagedExecutor implements Executor {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    private ManagedExecutor(String name, ExecutorService delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    static ManagedExecutor bounded(String name, int threads, int queueCapacity, BackpressurePolicy policy) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(name), policy.handler());
+        executor.allowCoreThreadTimeOut(true);
+        return new ManagedExecutor(name, executor);
+    }
+
+    static ManagedExecutor workStealing(String name, int parallelism) {
+        AtomicInteger count = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(name + "-" + count.incrementAndGet());
+            return thread;
+        }, null, true);
+        return new ManagedExecutor(name, pool);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAt = System.nanoTime();
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    latency.record(System.nanoTime() - submittedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // every policy refuses with this exception, a task run by the caller or queued after blocking is not counted
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorMetrics metrics() {
+        if (delegate instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) delegate;
+            return new ExecutorMetrics(name, pool.getQueue().size(), pool.getActiveCount(), pool.getPoolSize(), rejected.sum(), latency);
+        }
+        ForkJoinPool pool = (ForkJoinPool) delegate;
+        return new ExecutorMetrics(name, (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount()),
+                pool.getActiveThreadCount(), pool.getPoolSize(), rejected.sum(), latency);
+    }
+
+    void shutdown() {
+        delegate.shutdown();
+    }
+
+    /**
+     * @return true if all tasks finished in time, otherwise the remaining ones are interrupted
+     */
+    boolean awaitTermination(Duration timeout) throws InterruptedException {
+        if (delegate.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        delegate.shutdownNow();
+        return false;
+    }
+
+    private static ThreadFactory namedThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,542 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simple arithmetic expression such as <code>a + b * (c - 2)</code>, parsed once into a tree of typed nodes.
+ * Supported are number literals, variables, parentheses, unary minus and <code>+ - * / %</code>.
+ * <p>
+ * An expression without division or decimal literals is integral: it is evaluated on ints with overflow checks and
+ * gives an int like Nashorn does for <code>10 + 20</code>. Anything else is evaluated on doubles, and so is an
+ * integral expression whose result would overflow or be negative zero, e.g. <code>-0</code> or <code>0 * -1</code>.
+ * The batch methods evaluate the tree one node at a time over whole column arrays, which keeps the inner loops
+ * simple enough for the JIT to unroll and vectorize.
+ */
+public class Expression {
+
+    private static final int CHUNK = 1024;
+
+    private final String source;
+    private final Node root;
+    private final List<String> variables;
+    private final int temporaries;
+
+    private Expression(String source, Node root, List<String> variables, int temporaries) {
+        this.source = source;
+        this.root = root;
+        this.variables = variables;
+        this.temporaries = temporaries;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the source is not a supported expression
+     */
+    public static Expression parse(String source) {
+        return new Parser(source).parse();
+    }
+
+    public List<String> variables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    public boolean isIntegral() {
+        return root.integral();
+    }
+
+    /**
+     * @return an Integer for integral expressions when all variables are Integers, otherwise a Double
+     */
+    public Number eval(Map<String, ?> bindings) {
+        boolean ints = isIntegral();
+        int[] intValues = new int[variables.size()];
+        double[] doubleValues = new double[variables.size()];
+        for (int i = 0; i < variables.size(); i++) {
+            Object value = bindings.get(variables.get(i));
+            if (!(value instanceof Number)) {
+                throw new IllegalArgumentException("Variable " + variables.get(i) + " is not a number: " + value);
+            }
+            ints &= value instanceof Integer || value instanceof Short || value instanceof Byte;
+            intValues[i] = ((Number) value).intValue();
+            doubleValues[i] = ((Number) value).doubleValue();
+        }
+        if (ints) {
+            try {
+                return root.evalInt(intValues);
+            } catch (ArithmeticException e) {
+                // overflow, -0 or % 0, JavaScript carries on with doubles
+            }
+        }
+        return root.evalDouble(doubleValues);
+    }
+
+    /**
+     * Evaluates an integral expression for every row of the given int columns.
+     *
+     * @throws ArithmeticException if a result overflows an int, is negative zero or a remainder by zero happens
+     */
+    public int[] evalInt(Map<String, int[]> columns) {
+        if (!isIntegral()) {
+            throw new IllegalStateException("Not an integral expression: " + source);
+        }
+        int[][] inputs = intColumns(columns);
+        int rows = rows(Arrays.stream(inputs).mapToInt(column -> column.length).toArray());
+        int[] result = new int[rows];
+        int[][] scratch = new int[temporaries][Math.min(CHUNK, rows)];
+        int[] out = new int[Math.min(CHUNK, rows)];
+        for (int from = 0; from < rows; from += CHUNK) {
+            int length = Math.min(CHUNK, rows - from);
+            root.evalInt(inputs, from, length, out, scratch);
+            System.arraycopy(out, 0, result, from, length);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the expression for every row of the given double columns.
+     */
+    public double[] evalDouble(Map<String, double[]> columns) {
+        double[][] inputs = doubleColumns(columns);
+        int rows = rows(Arrays.stream(inputs).mapToInt(column -> column.length).toArray());
+        double[] result = new double[rows];
+        double[][] scratch = new double[temporaries][Math.min(CHUNK, rows)];
+        double[] out = new double[Math.min(CHUNK, rows)];
+        for (int from = 0; from < rows; from += CHUNK) {
+            int length = Math.min(CHUNK, rows - from);
+            root.evalDouble(inputs, from, length, out, scratch);
+            System.arraycopy(out, 0, result, from, length);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private int[][] intColumns(Map<String, int[]> columns) {
+        int[][] inputs = new int[variables.size()][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = column(columns, variables.get(i));
+        }
+        return inputs;
+    }
+
+    private double[][] doubleColumns(Map<String, double[]> columns) {
+        double[][] inputs = new double[variables.size()][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = column(columns, variables.get(i));
+        }
+        return inputs;
+    }
+
+    private static <A> A column(Map<String, A> columns, String variable) {
+        A column = columns.get(variable);
+        if (column == null) {
+            throw new IllegalArgumentException("No column for variable: " + variable);
+        }
+        return column;
+    }
+
+    private int rows(int[] columnLengths) {
+        if (columnLengths.length == 0) {
+            return 1;
+        }
+        for (int length : columnLengths) {
+            if (length != columnLengths[0]) {
+                throw new IllegalArgumentException("All columns must have the same length");
+            }
+        }
+        return columnLengths[0];
+    }
+
+    private static int negate(int a) {
+        if (a == 0) {
+            throw new ArithmeticException("negative zero");
+        }
+        return Math.negateExact(a);
+    }
+
+    private static int multiply(int a, int b) {
+        int result = Math.multiplyExact(a, b);
+        if (result == 0 && (a < 0 || b < 0)) {
+            throw new ArithmeticException("negative zero");
+        }
+        return result;
+    }
+
+    private static int remainder(int a, int b) {
+        int result = a % b;
+        if (result == 0 && a < 0) {
+            throw new ArithmeticException("negative zero");
+        }
+        return result;
+    }
+
+    private interface Node {
+
+        boolean integral();
+
+        int evalInt(int[] variables);
+
+        double evalDouble(double[] variables);
+
+        void evalInt(int[][] columns, int from, int length, int[] out, int[][] scratch);
+
+        void evalDouble(double[][] columns, int from, int length, double[] out, double[][] scratch);
+    }
+
+    private static class Literal implements Node {
+
+        private final double value;
+        private final boolean integral;
+
+        Literal(double value, boolean integral) {
+            this.value = value;
+            this.integral = integral;
+        }
+
+        @Override
+        public boolean integral() {
+            return integral;
+        }
+
+        @Override
+        public int evalInt(int[] variables) {
+            return (int) value;
+        }
+
+        @Override
+        public double evalDouble(double[] variables) {
+            return value;
+        }
+
+        @Override
+        public void evalInt(int[][] columns, int from, int length, int[] out, int[][] scratch) {
+            Arrays.fill(out, 0, length, (int) value);
+        }
+
+        @Override
+        public void evalDouble(double[][] columns, int from, int length, double[] out, double[][] scratch) {
+            Arrays.fill(out, 0, length, value);
+        }
+    }
+
+    private static class Variable implements Node {
+
+        private final int index;
+
+        Variable(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean integral() {
+            return true;
+        }
+
+        @Override
+        public int evalInt(int[] variables) {
+            return variables[index];
+        }
+
+        @Override
+        public double evalDouble(double[] variables) {
+            return variables[index];
+        }
+
+        @Override
+        public void evalInt(int[][] columns, int from, int length, int[] out, int[][] scratch) {
+            System.arraycopy(columns[index], from, out, 0, length);
+        }
+
+        @Override
+        public void evalDouble(double[][] columns, int from, int length, double[] out, double[][] scratch) {
+            System.arraycopy(columns[index], from, out, 0, length);
+        }
+    }
+
+    private static class Negate implements Node {
+
+        private final Node operand;
+
+        Negate(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean integral() {
+            return operand.integral();
+        }
+
+        @Override
+        public int evalInt(int[] variables) {
+            return negate(operand.evalInt(variables));
+        }
+
+        @Override
+        public double evalDouble(double[] variables) {
+            return -operand.evalDouble(variables);
+        }
+
+        @Override
+        public void evalInt(int[][] columns, int from, int length, int[] out, int[][] scratch) {
+            operand.evalInt(columns, from, length, out, scratch);
+            for (int i = 0; i < length; i++) {
+                out[i] = negate(out[i]);
+            }
+        }
+
+        @Override
+        public void evalDouble(double[][] columns, int from, int length, double[] out, double[][] scratch) {
+            operand.evalDouble(columns, from, length, out, scratch);
+            for (int i = 0; i < length; i++) {
+                out[i] = -out[i];
+            }
+        }
+    }
+
+    private static class Binary implements Node {
+
+        private final char operator;
+        private final Node left;
+        private final Node right;
+        private final int temporary;
+
+        Binary(char operator, Node left, Node right, int temporary) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+            this.temporary = temporary;
+        }
+
+        @Override
+        public boolean integral() {
+            return operator != '/' && left.integral() && right.integral();
+        }
+
+        @Override
+        public int evalInt(int[] variables) {
+            int a = left.evalInt(variables);
+            int b = right.evalInt(variables);
+            switch (operator) {
+                case '+':
+                    return Math.addExact(a, b);
+                case '-':
+                    return Math.subtractExact(a, b);
+                case '*':
+                    return multiply(a, b);
+                case '%':
+                    return remainder(a, b);
+                default:
+                    throw new IllegalStateException("Not an integral operator: " + operator);
+            }
+        }
+
+        @Override
+        public double evalDouble(double[] variables) {
+            double a = left.evalDouble(variables);
+            double b = right.evalDouble(variables);
+            switch (operator) {
+                case '+':
+                    return a + b;
+                case '-':
+                    return a - b;
+                case '*':
+                    return a * b;
+                case '/':
+                    return a / b;
+                default:
+                    return a % b;
+            }
+        }
+
+        @Override
+        public void evalInt(int[][] columns, int from, int length, int[] out, int[][] scratch) {
+            int[] rhs = scratch[temporary];
+            left.evalInt(columns, from, length, out, scratch);
+            right.evalInt(columns, from, length, rhs, scratch);
+            switch (operator) {
+                case '+':
+                    for (int i = 0; i < length; i++) {
+                        out[i] = Math.addExact(out[i], rhs[i]);
+                    }
+                    break;
+                case '-':
+                    for (int i = 0; i < length; i++) {
+                        out[i] = Math.subtractExact(out[i], rhs[i]);
+                    }
+                    break;
+                case '*':
+                    for (int i = 0; i < length; i++) {
+                        out[i] = multiply(out[i], rhs[i]);
+                    }
+                    break;
+                case '%':
+                    for (int i = 0; i < length; i++) {
+                        out[i] = remainder(out[i], rhs[i]);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Not an integral operator: " + operator);
+            }
+        }
+
+        @Override
+        public void evalDouble(double[][] columns, int from, int length, double[] out, double[][] scratch) {
+            double[] rhs = scratch[temporary];
+            left.evalDouble(columns, from, length, out, scratch);
+            right.evalDouble(columns, from, length, rhs, scratch);
+            switch (operator) {
+                case '+':
+                    for (int i = 0; i < length; i++) {
+                        out[i] += rhs[i];
+                    }
+                    break;
+                case '-':
+                    for (int i = 0; i < length; i++) {
+                        out[i] -= rhs[i];
+                    }
+                    break;
+                case '*':
+                    for (int i = 0; i < length; i++) {
+                        out[i] *= rhs[i];
+                    }
+                    break;
+                case '/':
+                    for (int i = 0; i < length; i++) {
+                        out[i] /= rhs[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < length; i++) {
+                        out[i] %= rhs[i];
+                    }
+            }
+        }
+    }
+
+    private static class Parser {
+
+        private final String source;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+        private int depth;
+        private int temporaries;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        Expression parse() {
+            Node root = expression();
+            skipWhitespace();
+            if (position != source.length()) {
+                throw unsupported();
+            }
+            return new Expression(source, root, variables, temporaries);
+        }
+
+        private Node expression() {
+            Node node = term();
+            for (char c = peek(); c == '+' || c == '-'; c = peek()) {
+                position++;
+                node = binary(c, node);
+            }
+            return node;
+        }
+
+        private Node term() {
+            Node node = unary();
+            for (char c = peek(); c == '*' || c == '/' || c == '%'; c = peek()) {
+                position++;
+                node = binary(c, node);
+            }
+            return node;
+        }
+
+        private Node binary(char operator, Node left) {
+            // the right operand of a binary node is evaluated while its ancestors hold their own temporaries
+            int temporary = depth++;
+            temporaries = Math.max(temporaries, depth);
+            Node right = operator == '+' || operator == '-' ? term() : unary();
+            depth--;
+            return new Binary(operator, left, right, temporary);
+        }
+
+        private Node unary() {
+            char c = peek();
+            if (c == '-') {
+                position++;
+                return new Negate(unary());
+            }
+            if (c == '+') {
+                position++;
+                return unary();
+            }
+            return primary();
+        }
+
+        private Node primary() {
+            char c = peek();
+            if (c == '(') {
+                position++;
+                Node node = expression();
+                if (peek() != ')') {
+                    throw unsupported();
+                }
+                position++;
+                return node;
+            }
+            int start = position;
+            if (Character.isDigit(c)) {
+                while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                    position++;
+                }
+                String literal = source.substring(start, position);
+                if (literal.length() > 1 && literal.charAt(0) == '0' && Character.isDigit(literal.charAt(1))) {
+                    // 010 is octal in Nashorn, leave it to the engine
+                    throw unsupported();
+                }
+                try {
+                    double value = Double.parseDouble(literal);
+                    boolean integral = !literal.contains(".") && value <= Integer.MAX_VALUE;
+                    return new Literal(value, integral);
+                } catch (NumberFormatException e) {
+                    throw unsupported();
+                }
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position))) {
+                    position++;
+                }
+                String name = source.substring(start, position);
+                int index = variables.indexOf(name);
+                if (index < 0) {
+                    index = variables.size();
+                    variables.add(name);
+                }
+                return new Variable(index);
+            }
+            throw unsupported();
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < source.length() ? source.charAt(position) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("Unsupported expression at position " + position + ": " + source);
+        }
+    }
+}
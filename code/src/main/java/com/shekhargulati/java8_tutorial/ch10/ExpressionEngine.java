@@ -0,0 +1,54 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import com.shekhargulati.java8_tutorial.ch07.Functions;
+
+import javax.script.ScriptException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Evaluates scripts that are plain arithmetic with {@link Expression} and everything else with a
+ * {@link ScriptService}. Whether a source turned out to be a supported expression is cached for the most recently
+ * used sources, like {@link ScriptService} caches compiled scripts.
+ */
+public class ExpressionEngine {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+    private final ScriptService fallback;
+    private final Function<String, Optional<Expression>> expressions = Functions.memoize(ExpressionEngine::tryParse, MAX_CACHED_EXPRESSIONS);
+
+    public ExpressionEngine(ScriptService fallback) {
+        this.fallback = fallback;
+    }
+
+    public Object eval(String script) throws ScriptException {
+        return eval(script, Collections.emptyMap());
+    }
+
+    public Object eval(String script, Map<String, Object> variables) throws ScriptException {
+        Optional<Expression> expression = expressions.apply(script);
+        if (expression.isPresent() && allNumbers(expression.get(), variables)) {
+            return expression.get().eval(variables);
+        }
+        return fallback.eval(script, variables);
+    }
+
+    public Optional<Expression> expression(String script) {
+        return expressions.apply(script);
+    }
+
+    private static Optional<Expression> tryParse(String script) {
+        try {
+            return Optional.of(Expression.parse(script));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean allNumbers(Expression expression, Map<String, Object> variables) {
+        return expression.variables().stream().allMatch(variable -> variables.get(variable) instanceof Number);
+    }
+}
@@ -15,7 +15,7 @@ public class NashornExample3 {
         System.out.println(eval);
     }
 
-    private static class NoJavaFilter implements ClassFilter{
+    static class NoJavaFilter implements ClassFilter {
 
         @Override
         public boolean exposeToScripts(String s) {
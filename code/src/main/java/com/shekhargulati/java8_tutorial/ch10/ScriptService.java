@@ -0,0 +1,119 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates scripts on a fixed pool of Nashorn engines. Every engine compiles a script once and keeps the
+ * {@link CompiledScript} in a small LRU cache keyed by the source, and evaluates against one {@link Bindings}
+ * it reuses for every call, so neither parsing nor creating a new script global happens per request.
+ * Before an engine goes back to the pool its scope is cleared of the passed variables and of every global the
+ * script assigned. A script that declared a <code>var</code> or <code>function</code>, which can't be deleted
+ * from a global, makes the engine switch to a fresh global instead. Changes a script makes to built-in objects
+ * such as <code>Math</code> are not undone.
+ */
+public class ScriptService {
+
+    private static final int MAX_CACHED_SCRIPTS_PER_ENGINE = 256;
+
+    private final BlockingQueue<PooledEngine> engines;
+
+    private ScriptService(int poolSize, Supplier<ScriptEngine> engineFactory) {
+        engines = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            engines.add(new PooledEngine(engineFactory.get()));
+        }
+    }
+
+    public static ScriptService create(int poolSize) {
+        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        return new ScriptService(poolSize, factory::getScriptEngine);
+    }
+
+    /**
+     * Engines of this service can't access any Java class, like the engine in {@link NashornExample3}.
+     */
+    public static ScriptService withoutJavaAccess(int poolSize) {
+        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        return new ScriptService(poolSize, () -> factory.getScriptEngine(new NashornExample3.NoJavaFilter()));
+    }
+
+    public Object eval(String script) throws ScriptException {
+        return eval(script, Collections.emptyMap());
+    }
+
+    public Object eval(String script, Map<String, Object> variables) throws ScriptException {
+        PooledEngine engine = borrow();
+        try {
+            return engine.eval(script, variables);
+        } finally {
+            engines.add(engine);
+        }
+    }
+
+    private PooledEngine borrow() throws ScriptException {
+        try {
+            return engines.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for a script engine");
+        }
+    }
+
+    private static class PooledEngine {
+
+        private final ScriptEngine engine;
+        private final Map<String, CompiledScript> compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > MAX_CACHED_SCRIPTS_PER_ENGINE;
+            }
+        };
+        private Bindings bindings;
+
+        PooledEngine(ScriptEngine engine) {
+            this.engine = engine;
+            this.bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        }
+
+        Object eval(String script, Map<String, Object> variables) throws ScriptException {
+            CompiledScript compiled = compiledScripts.get(script);
+            if (compiled == null) {
+                compiled = ((Compilable) engine).compile(script);
+                compiledScripts.put(script, compiled);
+            }
+            bindings.putAll(variables);
+            try {
+                return compiled.eval(bindings);
+            } finally {
+                reset();
+            }
+        }
+
+        private void reset() {
+            if (bindings.isEmpty()) {
+                return;
+            }
+            new ArrayList<>(bindings.keySet()).forEach(bindings::remove);
+            if (!bindings.isEmpty()) {
+                // declared globals are not deletable, start over with a new global
+                bindings = engine.createBindings();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of the numeric ids given to tasks that are created without an id, see {@link Task#setIdGenerator(IdGenerator)}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * @return a positive id not returned before
+     */
+    long nextId();
+
+    /**
+     * @return the shared generator of ids that grow with the time they were created at
+     */
+    static IdGenerator timeOrdered() {
+        return TimeOrderedIdGenerator.INSTANCE;
+    }
+
+    /**
+     * Random ids from the calling thread's {@link ThreadLocalRandom}. Unlike {@link java.util.UUID#randomUUID()}
+     * this does not share a {@link java.security.SecureRandom} between threads, but ids are only unique with high
+     * probability.
+     */
+    static IdGenerator random() {
+        return () -> ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,130 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.time.LocalDate;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read only counterpart of {@link Task} for data that is loaded once and queried a lot. Titles and tags are
+ * interned through a {@link StringInterner}, tags are kept in a sorted array rather than a HashSet and the
+ * hash code is computed once when the task is created. Descriptions are rarely repeated and are not interned.
+ * Equality is the same as for {@link Task}: same title and same type.
+ */
+public final class ImmutableTask {
+
+    private static final String[] NO_TAGS = new String[0];
+    // Task accepts a null tag, it sorts first here
+    private static final Comparator<String> TAG_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final long id;
+    private final String title;
+    private final String description;
+    private final TaskType type;
+    private final LocalDate createdOn;
+    private final String[] tags;
+    private final int hash;
+
+    public ImmutableTask(long id, String title, String description, TaskType type, LocalDate createdOn, Collection<String> tags) {
+        this(id, title, description, type, createdOn, tags, StringInterner.shared());
+    }
+
+    public ImmutableTask(long id, String title, String description, TaskType type, LocalDate createdOn, Collection<String> tags,
+                         StringInterner interner) {
+        this.id = id;
+        this.title = interner.intern(title);
+        this.description = description;
+        this.type = type;
+        this.createdOn = createdOn;
+        this.tags = tags.isEmpty() ? NO_TAGS : tags.stream().map(interner::intern).sorted(TAG_ORDER).distinct().toArray(String[]::new);
+        this.hash = hash(this.title, type);
+    }
+
+    public static ImmutableTask of(Task task) {
+        return new ImmutableTask(task.getLongId(), task.getTitle(), task.getDescription(), task.getType(), task.getCreatedOn(), task.getTags());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskType getType() {
+        return type;
+    }
+
+    public LocalDate getCreatedOn() {
+        return createdOn;
+    }
+
+    public boolean hasTag(String tag) {
+        return Arrays.binarySearch(tags, tag, TAG_ORDER) >= 0;
+    }
+
+    /**
+     * @return the tags in alphabetical order, a null tag first
+     */
+    public Set<String> getTags() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return Arrays.asList(tags).iterator();
+            }
+
+            @Override
+            public int size() {
+                return tags.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return (o == null || o instanceof String) && hasTag((String) o);
+            }
+        };
+    }
+
+    public Task toTask() {
+        Task task = new Task(id, title, description, type, createdOn);
+        for (String tag : tags) {
+            task.addTag(tag);
+        }
+        return task;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableTask{" +
+                "title='" + title + '\'' +
+                ", type=" + type +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImmutableTask task = (ImmutableTask) o;
+        // interned titles are usually the same instance, which String.equals checks first
+        return hash == task.hash && type == task.type && Objects.equals(title, task.title);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    static int hash(String title, TaskType type) {
+        return 31 * (31 + Objects.hashCode(title)) + Objects.hashCode(type);
+    }
+}
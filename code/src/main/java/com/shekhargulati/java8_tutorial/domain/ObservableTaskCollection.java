@@ -0,0 +1,193 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A collection of tasks that keeps its views up to date as tasks are added, removed or tagged, instead of
+ * recomputing them with a stream over every task on each query:
+ * <ul>
+ * <li>tasks per {@link TaskType}, ordered by creation date, giving the count per type in O(1) and the
+ * oldest or newest n tasks in O(log n + n)</li>
+ * <li>the number of tasks carrying each tag, in O(1)</li>
+ * </ul>
+ * Tasks are held by identity, adding the same task instance twice has no effect. Tasks created on the same
+ * day stay in the order they were added. Iteration goes from the oldest to the newest task. All methods are
+ * synchronized, iterators are not and must not be used while other threads change the collection.
+ */
+public class ObservableTaskCollection extends AbstractCollection<Task> {
+
+    private static final Comparator<Entry> BY_CREATED_ON =
+            Comparator.comparing((Entry entry) -> entry.task.getCreatedOn()).thenComparingLong(entry -> entry.sequence);
+
+    private final Map<Task, Entry> entries = new IdentityHashMap<>();
+    private final NavigableSet<Entry> byCreatedOn = new TreeSet<>(BY_CREATED_ON);
+    private final Map<TaskType, NavigableSet<Entry>> byType = new EnumMap<>(TaskType.class);
+    private final Map<String, Integer> tagFrequency = new LinkedHashMap<>();
+    private final TaskListener tagListener = (task, tag) -> tagAdded(tag);
+    private long sequence;
+
+    public ObservableTaskCollection() {
+        for (TaskType type : TaskType.values()) {
+            byType.put(type, new TreeSet<>(BY_CREATED_ON));
+        }
+    }
+
+    public static ObservableTaskCollection of(List<Task> tasks) {
+        ObservableTaskCollection collection = new ObservableTaskCollection();
+        collection.addAll(tasks);
+        return collection;
+    }
+
+    @Override
+    public synchronized boolean add(Task task) {
+        if (entries.containsKey(task)) {
+            return false;
+        }
+        Entry entry = new Entry(task, sequence++);
+        entries.put(task, entry);
+        byCreatedOn.add(entry);
+        byType.get(task.getType()).add(entry);
+        task.getTags().forEach(this::tagAdded);
+        task.addListener(tagListener);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        Entry entry = entries.remove(o);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Object o) {
+        return entries.containsKey(o);
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        Iterator<Entry> iterator = byCreatedOn.iterator();
+        return new Iterator<Task>() {
+            private Entry current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                current = iterator.next();
+                return current.task;
+            }
+
+            @Override
+            public void remove() {
+                synchronized (ObservableTaskCollection.this) {
+                    iterator.remove();
+                    entries.remove(current.task);
+                    byType.get(current.task.getType()).remove(current);
+                    untag(current.task);
+                }
+            }
+        };
+    }
+
+    public synchronized int count(TaskType type) {
+        return byType.get(type).size();
+    }
+
+    public synchronized Map<TaskType, Integer> countsByType() {
+        Map<TaskType, Integer> counts = new EnumMap<>(TaskType.class);
+        byType.forEach((type, tasks) -> counts.put(type, tasks.size()));
+        return counts;
+    }
+
+    public synchronized int tagFrequency(String tag) {
+        return tagFrequency.getOrDefault(tag, 0);
+    }
+
+    /**
+     * @return the number of tasks per tag, in the order tags were first seen
+     */
+    public synchronized Map<String, Integer> tagFrequencies() {
+        return unmodifiableMap(new LinkedHashMap<>(tagFrequency));
+    }
+
+    public synchronized List<String> distinctTags() {
+        return new ArrayList<>(tagFrequency.keySet());
+    }
+
+    public synchronized List<Task> oldest(int n) {
+        return tasks(byCreatedOn, n);
+    }
+
+    public synchronized List<Task> newest(int n) {
+        return tasks(byCreatedOn.descendingSet(), n);
+    }
+
+    public synchronized List<Task> oldest(TaskType type, int n) {
+        return tasks(byType.get(type), n);
+    }
+
+    public synchronized List<Task> newest(TaskType type, int n) {
+        return tasks(byType.get(type).descendingSet(), n);
+    }
+
+    private List<Task> tasks(NavigableSet<Entry> entries, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException(Integer.toString(n));
+        }
+        List<Task> tasks = new ArrayList<>(Math.min(n, entries.size()));
+        Iterator<Entry> iterator = entries.iterator();
+        while (tasks.size() < n && iterator.hasNext()) {
+            tasks.add(iterator.next().task);
+        }
+        return tasks;
+    }
+
+    private void unlink(Entry entry) {
+        byCreatedOn.remove(entry);
+        byType.get(entry.task.getType()).remove(entry);
+        untag(entry.task);
+    }
+
+    private void untag(Task task) {
+        task.removeListener(tagListener);
+        task.getTags().forEach(tag -> tagFrequency.computeIfPresent(tag, (t, count) -> count == 1 ? null : count - 1));
+    }
+
+    private synchronized void tagAdded(String tag) {
+        tagFrequency.merge(tag, 1, Integer::sum);
+    }
+
+    private static class Entry {
+        private final Task task;
+        private final long sequence;
+
+        Entry(Task task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+/**
+ * Hands out one canonical instance per distinct string, so repeated titles and tags share memory and can be
+ * compared by reference. Implementations are safe to use from many threads.
+ */
+public interface StringInterner {
+
+    /**
+     * @return the canonical instance equal to <code>value</code>, or null if <code>value</code> is null
+     */
+    String intern(String value);
+
+    /**
+     * @return the number of distinct strings held
+     */
+    int size();
+
+    /**
+     * @return a new interner that holds on to every string it has seen, meant to be scoped to one job such as
+     * loading a file
+     */
+    static StringInterner strong() {
+        return new StrongStringInterner();
+    }
+
+    /**
+     * @return the interner shared by all tasks, which only holds its strings weakly so a string is dropped once
+     * nothing else refers to it
+     */
+    static StringInterner shared() {
+        return WeakStringInterner.INSTANCE;
+    }
+}
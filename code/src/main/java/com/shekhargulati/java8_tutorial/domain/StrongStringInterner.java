@@ -0,0 +1,23 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+class StrongStringInterner implements StringInterner {
+
+    private final ConcurrentMap<String, String> values = new ConcurrentHashMap<>();
+
+    @Override
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Inverted index from each tag and each {@link TaskType} to the bitmap of positions of the tasks that have it.
+ * Tasks get a position in the order they are added and the index listens to {@link Task#addTag(String)}, so tags
+ * added after a task was indexed are picked up as well. Queries combine bitmaps and never look at the tasks.
+ * {@link #remove(Task)} and {@link #close()} unregister the listeners again, so an index doesn't keep tasks that
+ * outlive it from being collected.
+ */
+public class TagIndex implements AutoCloseable {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<TaskListener> listeners = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, BitSet> tagBitmaps = new LinkedHashMap<>();
+    private final Map<TaskType, BitSet> typeBitmaps = new EnumMap<>(TaskType.class);
+
+    public TagIndex() {
+        for (TaskType type : TaskType.values()) {
+            typeBitmaps.put(type, new BitSet());
+        }
+    }
+
+    public static TagIndex of(List<Task> tasks) {
+        TagIndex index = new TagIndex();
+        tasks.forEach(index::add);
+        return index;
+    }
+
+    public int add(Task task) {
+        int position = tasks.size();
+        TaskListener listener = (t, tag) -> bitmap(tag).set(position);
+        tasks.add(task);
+        listeners.add(listener);
+        live.set(position);
+        typeBitmaps.get(task.getType()).set(position);
+        task.getTags().forEach(tag -> bitmap(tag).set(position));
+        task.addListener(listener);
+        return position;
+    }
+
+    /**
+     * Removes the given task from every position it was added at. Positions are not reused.
+     *
+     * @return true if the task was in the index
+     */
+    public boolean remove(Task task) {
+        boolean removed = false;
+        for (int position = live.nextSetBit(0); position >= 0; position = live.nextSetBit(position + 1)) {
+            if (tasks.get(position) == task) {
+                remove(position);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Stops following tags added to the indexed tasks. The index can still be queried.
+     */
+    @Override
+    public void close() {
+        for (int position = live.nextSetBit(0); position >= 0; position = live.nextSetBit(position + 1)) {
+            unregister(position);
+        }
+    }
+
+    public int size() {
+        return live.cardinality();
+    }
+
+    public Set<String> tags() {
+        return unmodifiableSet(tagBitmaps.keySet());
+    }
+
+    public Query all() {
+        return new Query((BitSet) live.clone());
+    }
+
+    public Query tagged(String tag) {
+        BitSet bits = tagBitmaps.get(tag);
+        return new Query(bits == null ? new BitSet() : (BitSet) bits.clone());
+    }
+
+    public Query ofType(TaskType type) {
+        return new Query((BitSet) typeBitmaps.get(type).clone());
+    }
+
+    private BitSet bitmap(String tag) {
+        return tagBitmaps.computeIfAbsent(tag, t -> new BitSet());
+    }
+
+    private void remove(int position) {
+        Task task = tasks.get(position);
+        unregister(position);
+        live.clear(position);
+        typeBitmaps.get(task.getType()).clear(position);
+        tagBitmaps.values().removeIf(bits -> {
+            bits.clear(position);
+            return bits.isEmpty();
+        });
+        tasks.set(position, null);
+    }
+
+    private void unregister(int position) {
+        TaskListener listener = listeners.get(position);
+        if (listener != null) {
+            tasks.get(position).removeListener(listener);
+            listeners.set(position, null);
+        }
+    }
+
+    /**
+     * An immutable set of task positions. Every operation returns a new query.
+     */
+    public class Query {
+
+        private final BitSet bits;
+
+        private Query(BitSet bits) {
+            this.bits = bits;
+        }
+
+        public Query and(Query other) {
+            BitSet result = (BitSet) bits.clone();
+            result.and(other.bits);
+            return new Query(result);
+        }
+
+        public Query or(Query other) {
+            BitSet result = (BitSet) bits.clone();
+            result.or(other.bits);
+            return new Query(result);
+        }
+
+        public Query andNot(Query other) {
+            BitSet result = (BitSet) bits.clone();
+            result.andNot(other.bits);
+            return new Query(result);
+        }
+
+        public Query not() {
+            BitSet result = (BitSet) bits.clone();
+            result.flip(0, tasks.size());
+            result.and(live);
+            return new Query(result);
+        }
+
+        public int count() {
+            return bits.cardinality();
+        }
+
+        public boolean exists() {
+            return !bits.isEmpty();
+        }
+
+        public IntStream positions() {
+            return bits.stream();
+        }
+
+        public List<Task> tasks() {
+            List<Task> result = new ArrayList<>(bits.cardinality());
+            bits.stream().forEach(position -> result.add(TagIndex.this.tasks.get(position)));
+            return result;
+        }
+    }
+}
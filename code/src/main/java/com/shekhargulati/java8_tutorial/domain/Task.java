@@ -5,19 +5,24 @@ import java.util.*;
 
 public class Task {
 
-    private final String id;
+    private static volatile IdGenerator idGenerator = IdGenerator.timeOrdered();
+
+    private final long longId;
+    // false only for String ids that aren't the decimal form of longId
+    private final boolean hasLongId;
+    // left null for tasks created with a long id and filled in by getId(). Threads racing on it store equal
+    // immutable strings, so the race is benign, and volatile publishes the string safely
+    private volatile String id;
     private final String title;
     private final String description;
     private final TaskType type;
     private LocalDate createdOn;
     private Set<String> tags = new HashSet<>();
+    private List<TaskListener> listeners;
+    private int hash;
 
     public Task(final String id, final String title, final TaskType type) {
-        this.id = id;
-        this.title = title;
-        this.description = title;
-        this.type = type;
-        this.createdOn = LocalDate.now();
+        this(id, title, title, type, LocalDate.now());
     }
 
     public Task(final String title, final TaskType type) {
@@ -29,15 +34,55 @@ public class Task {
     }
 
     public Task(final String title, final String description, final TaskType type, final LocalDate createdOn) {
-        this.id = UUID.randomUUID().toString();
+        this(idGenerator.nextId(), title, description, type, createdOn);
+    }
+
+    public Task(final String id, final String title, final String description, final TaskType type, final LocalDate createdOn) {
+        this(longId(id), id, title, description, type, createdOn);
+    }
+
+    public Task(final long id, final String title, final String description, final TaskType type, final LocalDate createdOn) {
+        this(id, null, title, description, type, createdOn);
+    }
+
+    private Task(final long longId, final String id, final String title, final String description, final TaskType type,
+                 final LocalDate createdOn) {
+        this.longId = longId;
+        // a parsed id is never negative, a hashed one always is
+        this.hasLongId = id == null || longId >= 0;
+        this.id = id;
         this.title = title;
         this.description = description;
         this.type = type;
         this.createdOn = createdOn;
     }
 
+    /**
+     * Sets where tasks created without an id get theirs from. Defaults to {@link IdGenerator#timeOrdered()}.
+     */
+    public static void setIdGenerator(IdGenerator generator) {
+        idGenerator = Objects.requireNonNull(generator);
+    }
+
     public String getId() {
-        return id;
+        String value = id;
+        if (value == null) {
+            value = Long.toString(longId);
+            id = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the id as a long. A String id that is a plain decimal number is parsed, any other String id is hashed
+     * to a negative long, so the same id always gives the same long but two such ids can collide.
+     */
+    public long getLongId() {
+        return longId;
+    }
+
+    boolean hasLongId() {
+        return hasLongId;
     }
 
     public String getTitle() {
@@ -57,14 +102,59 @@ public class Task {
     }
 
     public Task addTag(String tag) {
-        this.tags.add(tag);
+        if (this.tags.add(tag) && listeners != null) {
+            listeners.forEach(listener -> listener.tagAdded(this, tag));
+        }
         return this;
     }
 
+    public void addListener(TaskListener listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<>(1);
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(TaskListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
     public Set<String> getTags() {
         return Collections.unmodifiableSet(tags);
     }
 
+    private static long longId(String id) {
+        if (id == null) {
+            return idGenerator.nextId();
+        }
+        if (id.isEmpty() || id.length() > 18 || (id.charAt(0) == '0' && id.length() > 1)) {
+            return hashId(id);
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return hashId(id);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 64 bit FNV-1a hash with the sign bit set, which keeps it apart from parsed and generated ids.
+     */
+    private static long hashId(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
     @Override
     public String toString() {
         return "Task{" +
@@ -84,6 +174,12 @@ public class Task {
 
     @Override
     public int hashCode() {
-        return Objects.hash(title, type);
+        // title and type never change, so like String the hash is computed on first use and then reused
+        int h = hash;
+        if (h == 0) {
+            h = ImmutableTask.hash(title, type);
+            hash = h;
+        }
+        return h;
     }
 }
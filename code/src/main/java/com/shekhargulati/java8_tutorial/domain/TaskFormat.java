@@ -0,0 +1,125 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Layout shared by {@link TaskWriter} and {@link TaskReader}.
+ * <pre>
+ * file   := magic:int32 block*
+ * block  := length:int32 taskCount:int32 stringCount:varint string* task*
+ * string := byteLength:varint utf8-bytes
+ * task   := flags:byte id dayDelta:zigzag-varint title:ref [description:ref] tagCount:varint tag:ref*
+ * id     := varint when the long id flag is set, 16 bytes when the UUID flag is set, else byteLength:varint utf8-bytes
+ * ref    := varint, 0 for null else the index of the string in the block plus one
+ * </pre>
+ * The low four bits of the flags hold the {@link TaskType} ordinal. Titles, descriptions and tags refer to the
+ * strings of their block, and the creation date is stored as the difference in epoch days to the previous
+ * task of the block. Every block is self contained, so blocks can be decoded independently and in parallel.
+ */
+final class TaskFormat {
+
+    static final int MAGIC = 0x54534b32;
+    static final int BLOCK_HEADER_SIZE = 8;
+    static final int TYPE_MASK = 0x0f;
+    static final int UUID_ID = 0x10;
+    static final int DESCRIPTION_IS_TITLE = 0x20;
+    static final int LONG_ID = 0x40;
+
+    private TaskFormat() {
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IndexOutOfBoundsException("Varint longer than 10 bytes");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IndexOutOfBoundsException("String of " + length + " bytes with " + buffer.remaining() + " left");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * A growable byte array for encoding a block before its length is known.
+     */
+    static final class Bytes {
+
+        private byte[] bytes = new byte[1 << 12];
+        private int size;
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.put(bytes, 0, size);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
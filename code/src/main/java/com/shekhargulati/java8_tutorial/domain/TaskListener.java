@@ -0,0 +1,7 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+@FunctionalInterface
+public interface TaskListener {
+
+    void tagAdded(Task task, String tag);
+}
@@ -0,0 +1,238 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads tasks written by {@link TaskWriter}. Opening a file only reads the eight byte header of every block to
+ * learn where blocks start and how many tasks they hold. Blocks are then read with positional
+ * {@link FileChannel} reads, which any number of threads can do at once, and decoded independently: the
+ * {@link Spliterator} behind {@link #stream()} splits between blocks and {@link #readAll()} decodes all blocks in
+ * parallel straight into their slots of the result.
+ * <p>
+ * A truncated or corrupt file fails with an {@link IOException} from {@link #open(Path)} when a block header
+ * doesn't fit the file, or with an {@link UncheckedIOException} when a block doesn't decode.
+ */
+public class TaskReader implements Closeable {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private final FileChannel channel;
+    private final long[] blockOffsets;
+    private final long[] firstTaskOfBlock;
+
+    private TaskReader(FileChannel channel, long[] blockOffsets, long[] firstTaskOfBlock) {
+        this.channel = channel;
+        this.blockOffsets = blockOffsets;
+        this.firstTaskOfBlock = firstTaskOfBlock;
+    }
+
+    public static TaskReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TaskFormat.BLOCK_HEADER_SIZE);
+            header.limit(4);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != TaskFormat.MAGIC) {
+                throw new IOException(path + " is not a task file");
+            }
+            List<long[]> blocks = new ArrayList<>();
+            long position = 4;
+            long tasks = 0;
+            long size = channel.size();
+            while (position < size) {
+                header.clear();
+                readFully(channel, header, position);
+                int length = header.getInt(0);
+                int taskCount = header.getInt(4);
+                if (length < 0 || taskCount < 0 || length > size - position - TaskFormat.BLOCK_HEADER_SIZE) {
+                    throw new IOException(path + " is truncated or corrupt: block at offset " + position + " claims "
+                            + length + " bytes and " + taskCount + " tasks");
+                }
+                blocks.add(new long[]{position, tasks});
+                position += TaskFormat.BLOCK_HEADER_SIZE + length;
+                tasks += taskCount;
+            }
+            long[] blockOffsets = new long[blocks.size()];
+            long[] firstTaskOfBlock = new long[blocks.size() + 1];
+            for (int i = 0; i < blocks.size(); i++) {
+                blockOffsets[i] = blocks.get(i)[0];
+                firstTaskOfBlock[i] = blocks.get(i)[1];
+            }
+            firstTaskOfBlock[blocks.size()] = tasks;
+            return new TaskReader(channel, blockOffsets, firstTaskOfBlock);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static List<Task> load(Path path) throws IOException {
+        try (TaskReader reader = open(path)) {
+            return reader.readAll();
+        }
+    }
+
+    public long size() {
+        return firstTaskOfBlock[blockOffsets.length];
+    }
+
+    public Stream<Task> stream() {
+        return StreamSupport.stream(new BlockSpliterator(0, blockOffsets.length), false);
+    }
+
+    public List<Task> readAll() {
+        if (size() > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many tasks to hold in a list: " + size());
+        }
+        Task[] tasks = new Task[(int) size()];
+        IntStream.range(0, blockOffsets.length).parallel().forEach(block -> {
+            Task[] decoded = decode(block);
+            System.arraycopy(decoded, 0, tasks, (int) firstTaskOfBlock[block], decoded.length);
+        });
+        return new ArrayList<>(Arrays.asList(tasks));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Task[] decode(int block) {
+        ByteBuffer buffer;
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TaskFormat.BLOCK_HEADER_SIZE);
+            readFully(channel, header, blockOffsets[block]);
+            buffer = ByteBuffer.allocate(header.getInt(0));
+            readFully(channel, buffer, blockOffsets[block] + TaskFormat.BLOCK_HEADER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+        try {
+            Task[] tasks = decode(buffer, (int) (firstTaskOfBlock[block + 1] - firstTaskOfBlock[block]));
+            if (buffer.hasRemaining()) {
+                throw new IndexOutOfBoundsException(buffer.remaining() + " bytes left after the last task");
+            }
+            return tasks;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new UncheckedIOException(new IOException("Corrupt task block at offset " + blockOffsets[block], e));
+        }
+    }
+
+    private static Task[] decode(ByteBuffer buffer, int taskCount) {
+        int stringCount = TaskFormat.readVarInt(buffer);
+        if (stringCount < 0 || stringCount > buffer.remaining()) {
+            throw new IndexOutOfBoundsException(stringCount + " strings with " + buffer.remaining() + " bytes left");
+        }
+        // ref 0 is null, so the strings start at index 1
+        String[] strings = new String[stringCount + 1];
+        for (int i = 1; i < strings.length; i++) {
+            strings[i] = TaskFormat.readString(buffer);
+        }
+        if (taskCount > buffer.remaining()) {
+            throw new IndexOutOfBoundsException(taskCount + " tasks with " + buffer.remaining() + " bytes left");
+        }
+        Task[] tasks = new Task[taskCount];
+        long day = 0;
+        for (int i = 0; i < tasks.length; i++) {
+            int flags = buffer.get();
+            long longId = 0;
+            String id = null;
+            if ((flags & TaskFormat.LONG_ID) != 0) {
+                longId = TaskFormat.readVarLong(buffer);
+            } else if ((flags & TaskFormat.UUID_ID) != 0) {
+                id = new UUID(buffer.getLong(), buffer.getLong()).toString();
+            } else {
+                id = TaskFormat.readString(buffer);
+            }
+            day += TaskFormat.zigZagDecode(TaskFormat.readVarLong(buffer));
+            String title = strings[TaskFormat.readVarInt(buffer)];
+            String description = (flags & TaskFormat.DESCRIPTION_IS_TITLE) != 0 ? title : strings[TaskFormat.readVarInt(buffer)];
+            TaskType type = TYPES[flags & TaskFormat.TYPE_MASK];
+            LocalDate createdOn = LocalDate.ofEpochDay(day);
+            Task task = id == null ? new Task(longId, title, description, type, createdOn) : new Task(id, title, description, type, createdOn);
+            for (int tags = TaskFormat.readVarInt(buffer); tags > 0; tags--) {
+                task.addTag(strings[TaskFormat.readVarInt(buffer)]);
+            }
+            tasks[i] = task;
+        }
+        return tasks;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of task file at offset " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private class BlockSpliterator implements Spliterator<Task> {
+
+        private int block;
+        private final int end;
+        private Task[] current;
+        private int next;
+
+        BlockSpliterator(int block, int end) {
+            this.block = block;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            while (current == null || next == current.length) {
+                if (block == end) {
+                    return false;
+                }
+                current = decode(block++);
+                next = 0;
+            }
+            action.accept(current[next++]);
+            return true;
+        }
+
+        @Override
+        public Spliterator<Task> trySplit() {
+            int remainingBlocks = end - block;
+            if (remainingBlocks < 2 || (current != null && next < current.length)) {
+                return null;
+            }
+            int mid = block + remainingBlocks / 2;
+            Spliterator<Task> prefix = new BlockSpliterator(block, mid);
+            block = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long buffered = current == null ? 0 : current.length - next;
+            return buffered + firstTaskOfBlock[end] - firstTaskOfBlock[block];
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column oriented, append only storage for tasks. Every attribute of a task is kept in its own primitive array:
+ * the id as a long, the type as its ordinal, createdOn as an epoch day and title, description and tags as
+ * ids into shared dictionaries. The few ids that aren't a long are kept in a side column allocated on first use.
+ * Tags of row r are <code>tagIds[tagOffsets[r] .. tagOffsets[r + 1])</code>.
+ * {@link Task} objects are only created on demand by {@link #get(int)}.
+ */
+public class TaskStore {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private final StringDictionary strings = new StringDictionary();
+    private final StringDictionary tags = new StringDictionary();
+
+    private long[] ids;
+    private String[] stringIds;
+    private byte[] types;
+    private int[] createdOn;
+    private int[] titles;
+    private int[] descriptions;
+    private int[] tagOffsets;
+    private int[] tagIds;
+    private int size;
+    private int tagCount;
+
+    public TaskStore() {
+        this(16);
+    }
+
+    public TaskStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        ids = new long[capacity];
+        types = new byte[capacity];
+        createdOn = new int[capacity];
+        titles = new int[capacity];
+        descriptions = new int[capacity];
+        tagOffsets = new int[capacity + 1];
+        tagIds = new int[capacity * 2];
+    }
+
+    public static TaskStore of(List<Task> tasks) {
+        TaskStore store = new TaskStore(tasks.size());
+        tasks.forEach(store::add);
+        return store;
+    }
+
+    public int add(Task task) {
+        ensureCapacity(size + 1);
+        int row = size;
+        ids[row] = task.getLongId();
+        if (!task.hasLongId()) {
+            if (stringIds == null) {
+                stringIds = new String[ids.length];
+            }
+            stringIds[row] = task.getId();
+        }
+        types[row] = (byte) task.getType().ordinal();
+        createdOn[row] = (int) task.getCreatedOn().toEpochDay();
+        titles[row] = strings.encode(task.getTitle());
+        descriptions[row] = strings.encode(task.getDescription());
+        for (String tag : task.getTags()) {
+            if (tagCount == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, tagIds.length * 2);
+            }
+            tagIds[tagCount++] = tags.encode(tag);
+        }
+        tagOffsets[row + 1] = tagCount;
+        size++;
+        return row;
+    }
+
+    public Task get(int row) {
+        checkRow(row);
+        String description = strings.decode(descriptions[row]);
+        LocalDate date = LocalDate.ofEpochDay(createdOn[row]);
+        String stringId = stringId(row);
+        Task task = stringId == null
+                ? new Task(ids[row], title(row), description, type(row), date)
+                : new Task(stringId, title(row), description, type(row), date);
+        for (int i = tagOffsets[row]; i < tagOffsets[row + 1]; i++) {
+            task.addTag(tags.decode(tagIds[i]));
+        }
+        return task;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String id(int row) {
+        String stringId = stringId(row);
+        return stringId == null ? Long.toString(ids[row]) : stringId;
+    }
+
+    public long longId(int row) {
+        return ids[row];
+    }
+
+    public TaskType type(int row) {
+        return TYPES[types[row]];
+    }
+
+    public int typeOrdinal(int row) {
+        return types[row];
+    }
+
+    public int createdOnEpochDay(int row) {
+        return createdOn[row];
+    }
+
+    public int titleId(int row) {
+        return titles[row];
+    }
+
+    public String title(int row) {
+        return strings.decode(titles[row]);
+    }
+
+    public boolean hasTag(int row, int tagId) {
+        for (int i = tagOffsets[row]; i < tagOffsets[row + 1]; i++) {
+            if (tagIds[i] == tagId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int tagStart(int row) {
+        return tagOffsets[row];
+    }
+
+    public int tagEnd(int row) {
+        return tagOffsets[row + 1];
+    }
+
+    public int tagIdAt(int position) {
+        return tagIds[position];
+    }
+
+    /**
+     * @return the id of the tag or -1 when no task in the store has that tag
+     */
+    public int tagId(String tag) {
+        return tags.idOf(tag);
+    }
+
+    public String tag(int tagId) {
+        return tags.decode(tagId);
+    }
+
+    public int distinctTagCount() {
+        return tags.size();
+    }
+
+    public String string(int stringId) {
+        return strings.decode(stringId);
+    }
+
+    public int distinctStringCount() {
+        return strings.size();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > types.length) {
+            int newCapacity = Math.max(capacity, types.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            if (stringIds != null) {
+                stringIds = Arrays.copyOf(stringIds, newCapacity);
+            }
+            types = Arrays.copyOf(types, newCapacity);
+            createdOn = Arrays.copyOf(createdOn, newCapacity);
+            titles = Arrays.copyOf(titles, newCapacity);
+            descriptions = Arrays.copyOf(descriptions, newCapacity);
+            tagOffsets = Arrays.copyOf(tagOffsets, newCapacity + 1);
+        }
+    }
+
+    private String stringId(int row) {
+        return stringIds == null ? null : stringIds[row];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+    }
+}
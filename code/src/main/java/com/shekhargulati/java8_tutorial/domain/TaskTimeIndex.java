@@ -0,0 +1,116 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+
+/**
+ * Partitions tasks by the epoch day they were created on. Partitions are kept sorted by day and tasks within a
+ * day stay in the order they were added, so iterating the partitions gives the same order a stable sort on
+ * {@link Task#getCreatedOn()} would, without sorting. Descending scans walk the days newest first but keep the
+ * tasks of a day in the order they were added, like a stable sort on the reversed comparator. A range query only
+ * visits the partitions in the range and rollups only visit one partition per day rather than every task.
+ */
+public class TaskTimeIndex {
+
+    private final NavigableMap<Long, List<Task>> partitions = new TreeMap<>();
+    private int size;
+
+    public static TaskTimeIndex of(Collection<Task> tasks) {
+        TaskTimeIndex index = new TaskTimeIndex();
+        tasks.forEach(index::add);
+        return index;
+    }
+
+    public void add(Task task) {
+        partitions.computeIfAbsent(task.getCreatedOn().toEpochDay(), day -> new ArrayList<>()).add(task);
+        size++;
+    }
+
+    public boolean remove(Task task) {
+        long day = task.getCreatedOn().toEpochDay();
+        List<Task> partition = partitions.get(day);
+        if (partition == null) {
+            return false;
+        }
+        for (int i = 0; i < partition.size(); i++) {
+            if (partition.get(i) == task) {
+                partition.remove(i);
+                if (partition.isEmpty()) {
+                    partitions.remove(day);
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Stream<Task> ascending() {
+        return partitions.values().stream().flatMap(List::stream);
+    }
+
+    public Stream<Task> descending() {
+        return partitions.descendingMap().values().stream().flatMap(List::stream);
+    }
+
+    /**
+     * @return tasks created from {@code from} to {@code to}, both inclusive, oldest first
+     */
+    public Stream<Task> between(LocalDate from, LocalDate to) {
+        return range(from, to).values().stream().flatMap(List::stream);
+    }
+
+    /**
+     * @return tasks created from {@code from} to {@code to}, both inclusive, newest first
+     */
+    public Stream<Task> betweenDescending(LocalDate from, LocalDate to) {
+        return range(from, to).descendingMap().values().stream().flatMap(List::stream);
+    }
+
+    public int count(LocalDate from, LocalDate to) {
+        return range(from, to).values().stream().mapToInt(List::size).sum();
+    }
+
+    public SortedMap<LocalDate, Integer> countsPerDay(LocalDate from, LocalDate to) {
+        return rollup(from, to, day -> day);
+    }
+
+    /**
+     * @return number of tasks per week, keyed by the first day of the week
+     */
+    public SortedMap<LocalDate, Integer> countsPerWeek(LocalDate from, LocalDate to, DayOfWeek firstDayOfWeek) {
+        return rollup(from, to, day -> day.with(previousOrSame(firstDayOfWeek)));
+    }
+
+    public SortedMap<YearMonth, Integer> countsPerMonth(LocalDate from, LocalDate to) {
+        return rollup(from, to, YearMonth::from);
+    }
+
+    private <K> SortedMap<K, Integer> rollup(LocalDate from, LocalDate to, Function<LocalDate, K> bucket) {
+        SortedMap<K, Integer> counts = new TreeMap<>();
+        range(from, to).forEach((day, tasks) -> counts.merge(bucket.apply(LocalDate.ofEpochDay(day)), tasks.size(), Integer::sum));
+        return counts;
+    }
+
+    private NavigableMap<Long, List<Task>> range(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException(String.format("%s is before %s", to, from));
+        }
+        return partitions.subMap(from.toEpochDay(), true, to.toEpochDay(), true);
+    }
+}
@@ -0,0 +1,181 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Streams tasks to a channel in the compact binary format described by {@link TaskFormat}. Tasks are encoded
+ * into a block in memory and the block is written once it holds {@code blockSize} tasks, so memory use does not
+ * grow with the number of tasks written.
+ * <pre>
+ * try (TaskWriter writer = TaskWriter.create(path)) {
+ *     tasks.forEach(writer::write);
+ * }
+ * </pre>
+ */
+public class TaskWriter implements Closeable {
+
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final WritableByteChannel channel;
+    private final int blockSize;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final TaskFormat.Bytes strings = new TaskFormat.Bytes();
+    private final TaskFormat.Bytes tasks = new TaskFormat.Bytes();
+    private final TaskFormat.Bytes stringCount = new TaskFormat.Bytes();
+    private int taskCount;
+    private long previousDay;
+    private boolean closed;
+
+    public TaskWriter(WritableByteChannel channel, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException(Integer.toString(blockSize));
+        }
+        this.channel = channel;
+        this.blockSize = blockSize;
+        ByteBuffer magic = ByteBuffer.allocate(4).putInt(TaskFormat.MAGIC);
+        magic.flip();
+        writeFully(magic);
+    }
+
+    public static TaskWriter create(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+        try {
+            return new TaskWriter(channel, DEFAULT_BLOCK_SIZE);
+        } catch (IOException | RuntimeException e) {
+            // writing the header failed, nobody else can close the channel
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @throws NullPointerException if the task has no type or creation date, nothing is written then
+     * @throws IllegalStateException if the writer is closed
+     */
+    public void write(Task task) {
+        if (closed) {
+            throw new IllegalStateException("TaskWriter is closed");
+        }
+        Objects.requireNonNull(task.getType(), "type");
+        Objects.requireNonNull(task.getCreatedOn(), "createdOn");
+        int flags = task.getType().ordinal();
+        boolean longId = task.hasLongId();
+        UUID uuid = longId ? null : uuid(task.getId());
+        if (longId) {
+            flags |= TaskFormat.LONG_ID;
+        } else if (uuid != null) {
+            flags |= TaskFormat.UUID_ID;
+        }
+        boolean descriptionIsTitle = Objects.equals(task.getDescription(), task.getTitle());
+        if (descriptionIsTitle) {
+            flags |= TaskFormat.DESCRIPTION_IS_TITLE;
+        }
+        tasks.writeByte(flags);
+        if (longId) {
+            tasks.writeVarLong(task.getLongId());
+        } else if (uuid != null) {
+            tasks.writeLong(uuid.getMostSignificantBits());
+            tasks.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            tasks.writeString(task.getId());
+        }
+        long day = task.getCreatedOn().toEpochDay();
+        tasks.writeZigZag(day - previousDay);
+        previousDay = day;
+        tasks.writeVarLong(stringRef(task.getTitle()));
+        if (!descriptionIsTitle) {
+            tasks.writeVarLong(stringRef(task.getDescription()));
+        }
+        tasks.writeVarLong(task.getTags().size());
+        task.getTags().forEach(tag -> tasks.writeVarLong(stringRef(tag)));
+        if (++taskCount == blockSize) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                flushBlock();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void flushBlock() {
+        if (taskCount == 0) {
+            return;
+        }
+        stringCount.clear();
+        stringCount.writeVarLong(dictionary.size());
+        int length = stringCount.size() + strings.size() + tasks.size();
+        ByteBuffer block = ByteBuffer.allocate(TaskFormat.BLOCK_HEADER_SIZE + length);
+        block.putInt(length).putInt(taskCount);
+        stringCount.writeTo(block);
+        strings.writeTo(block);
+        tasks.writeTo(block);
+        block.flip();
+        try {
+            writeFully(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dictionary.clear();
+        strings.clear();
+        tasks.clear();
+        taskCount = 0;
+        previousDay = 0;
+    }
+
+    private int stringRef(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size() + 1;
+            dictionary.put(value, id);
+            strings.writeString(value);
+        }
+        return id;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static UUID uuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates 63 bit ids laid out as 41 bits of milliseconds since 2015-01-01, 10 bits of stripe and 12 bits of
+ * sequence. Each thread draws from the stripe picked by its thread id, so threads only contend when they share a
+ * stripe. Stripes hand out strictly increasing values, and when more than 4096 ids are asked for within a
+ * millisecond the sequence carries into the time bits instead of waiting for the clock, so ids stay unique and
+ * roughly time ordered across threads.
+ */
+class TimeOrderedIdGenerator implements IdGenerator {
+
+    static final long EPOCH_MILLIS = 1420070400000L;
+    static final TimeOrderedIdGenerator INSTANCE = new TimeOrderedIdGenerator(System::currentTimeMillis, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int STRIPE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    // 16 longs = 128 bytes between stripes, so two stripes never share a cache line
+    private static final int PADDING = 16;
+
+    private final LongSupplier currentTimeMillis;
+    private final AtomicLongArray stripes;
+    private final int stripeMask;
+
+    TimeOrderedIdGenerator(LongSupplier currentTimeMillis, int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripes, 1 << STRIPE_BITS) * 2 - 1));
+        this.currentTimeMillis = currentTimeMillis;
+        this.stripes = new AtomicLongArray(count * PADDING);
+        this.stripeMask = count - 1;
+    }
+
+    @Override
+    public long nextId() {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        int index = stripe * PADDING;
+        long floor = (currentTimeMillis.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = stripes.get(index);
+            next = Math.max(previous + 1, floor);
+        } while (!stripes.compareAndSet(index, previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        return millis << (STRIPE_BITS + SEQUENCE_BITS) | (long) stripe << SEQUENCE_BITS | next & SEQUENCE_MASK;
+    }
+
+}
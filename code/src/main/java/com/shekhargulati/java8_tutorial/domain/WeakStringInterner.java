@@ -0,0 +1,62 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps its strings in weak maps, one per stripe, each guarded by its own lock. A string always goes to the stripe
+ * picked by its hash, so threads interning different strings rarely wait for each other.
+ */
+class WeakStringInterner implements StringInterner {
+
+    static final WeakStringInterner INSTANCE = new WeakStringInterner(Runtime.getRuntime().availableProcessors() * 4);
+
+    private final List<Map<String, WeakReference<String>>> stripes;
+
+    WeakStringInterner(int stripes) {
+        // a power of two, so the stripe is a mask of the hash
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.stripes.add(new WeakHashMap<>());
+        }
+    }
+
+    @Override
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        // the key is the canonical string itself, so an entry goes away as soon as the string is unreachable
+        Map<String, WeakReference<String>> references = stripeOf(value);
+        synchronized (references) {
+            WeakReference<String> reference = references.get(value);
+            String canonical = reference == null ? null : reference.get();
+            if (canonical == null) {
+                references.put(value, new WeakReference<>(value));
+                canonical = value;
+            }
+            return canonical;
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Map<String, WeakReference<String>> references : stripes) {
+            synchronized (references) {
+                size += references.size();
+            }
+        }
+        return size;
+    }
+
+    Map<String, WeakReference<String>> stripeOf(String value) {
+        int hash = value.hashCode();
+        // spread the high bits down, as HashMap does, since similar strings differ mostly in their low bits
+        return stripes.get((hash ^ (hash >>> 16)) & (stripes.size() - 1));
+    }
+}
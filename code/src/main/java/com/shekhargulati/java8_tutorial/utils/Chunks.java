@@ -0,0 +1,28 @@
+package com.shekhargulati.java8_tutorial.utils;
+
+import java.util.stream.IntStream;
+
+/**
+ * Cuts the index range <code>[0, size)</code> into contiguous chunks and runs them in parallel, a few chunks per
+ * worker so a slow chunk does not hold up the rest. Ranges smaller than the threshold run on the calling thread.
+ */
+public class Chunks {
+
+    private Chunks() {
+    }
+
+    public static void forEach(int size, int parallelThreshold, ChunkAction action) {
+        if (size < parallelThreshold) {
+            action.apply(0, size);
+            return;
+        }
+        int chunks = Math.max(1, Math.min(size / Math.max(1, parallelThreshold / 4), Runtime.getRuntime().availableProcessors() * 4));
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                action.apply((int) ((long) size * chunk / chunks), (int) ((long) size * (chunk + 1) / chunks)));
+    }
+
+    @FunctionalInterface
+    public interface ChunkAction {
+        void apply(int from, int to);
+    }
+}
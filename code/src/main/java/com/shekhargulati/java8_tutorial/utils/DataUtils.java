@@ -5,10 +5,10 @@ import com.shekhargulati.java8_tutorial.domain.Task;
 import com.shekhargulati.java8_tutorial.domain.TaskType;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -26,9 +26,13 @@ public class DataUtils {
         return filePathToStream("src/main/resources/negative-words.txt");
     }
 
+    /**
+     * Splits lines and decodes UTF-8 exactly like {@link java.nio.file.Files#lines(java.nio.file.Path)}, closing the
+     * stream releases the memory mapped file.
+     */
     public static Stream<String> filePathToStream(String path) {
         try {
-            return Files.lines(Paths.get("training", path));
+            return MappedLines.lines(Paths.get("training", path));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -46,4 +50,18 @@ public class DataUtils {
         Task task5 = new Task("Write prime number program in Scala", TaskType.CODING, LocalDate.of(2015, Month.SEPTEMBER, 22)).addTag("scala").addTag("functional").addTag("program");
         return Stream.of(task1, task2, task3, task4, task5).collect(toList());
     }
+
+    public static List<Task> getTasks(int size) {
+        TaskType[] types = TaskType.values();
+        LocalDate start = LocalDate.of(2015, Month.JANUARY, 1);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskType type = types[i % types.length];
+            Task task = new Task(type.name().toLowerCase() + " task " + i, type, start.plusDays(i % 3650))
+                    .addTag("tag" + (i % 100))
+                    .addTag(type == TaskType.READING ? "books" : "java8");
+            tasks.add(task);
+        }
+        return tasks;
+    }
 }
@@ -0,0 +1,386 @@
+package com.shekhargulati.java8_tutorial.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the lines of a UTF-8 file through memory mapped buffers.
+ * <p>
+ * Nothing is indexed up front. The {@link Spliterator} handed to the stream covers a range of bytes and splits it
+ * at the first line terminator after its middle, so parallel streams divide the file evenly and decode lines on
+ * every worker instead of on a single reader thread, while memory use does not grow with the number of lines.
+ * Like {@link java.nio.file.Files#lines(Path)}, lines are terminated by <code>\n</code>, <code>\r</code> or
+ * <code>\r\n</code> and malformed UTF-8 fails with {@link UncheckedIOException}.
+ * <p>
+ * {@link #close()} unmaps the file where the JVM allows it, otherwise the mapping goes away once the buffers are
+ * garbage collected. Reading lines or char sequences after that throws {@link IllegalStateException}.
+ */
+public class MappedLines implements Closeable {
+
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+    private static final int MIN_SPLIT_SIZE = 1 << 12;
+
+    private final List<ByteBuffer> regions;
+    private final List<MappedByteBuffer> mappings;
+    private volatile boolean closed;
+
+    private MappedLines(List<ByteBuffer> regions, List<MappedByteBuffer> mappings) {
+        this.regions = regions;
+        this.mappings = mappings;
+    }
+
+    public static MappedLines open(Path path) throws IOException {
+        return open(path, MAX_REGION_SIZE);
+    }
+
+    // regions end after the last line terminator that fits, so no line spans two of them
+    static MappedLines open(Path path, int maxRegionSize) throws IOException {
+        List<ByteBuffer> regions = new ArrayList<>();
+        List<MappedByteBuffer> mappings = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long remaining = size - position;
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(remaining, maxRegionSize));
+                mappings.add(mapped);
+                int length = mapped.limit();
+                if (remaining > length) {
+                    length = lastLineBreak(mapped) + 1;
+                    if (length == 0) {
+                        throw new IOException("Line longer than " + maxRegionSize + " bytes at offset " + position + " in " + path);
+                    }
+                }
+                ByteBuffer buffer = mapped.duplicate();
+                buffer.limit(length);
+                regions.add(buffer.slice());
+                position += length;
+            }
+        }
+        return new MappedLines(regions, mappings);
+    }
+
+    /**
+     * Closing the stream closes the mapping, as closing {@link java.nio.file.Files#lines(Path)} closes the file.
+     */
+    public static Stream<String> lines(Path path) throws IOException {
+        MappedLines mapped = open(path);
+        return mapped.lines().onClose(mapped::close);
+    }
+
+    /**
+     * Counts the lines by scanning the whole file.
+     */
+    public long lineCount() {
+        checkOpen();
+        long count = 0;
+        for (ByteBuffer region : regions) {
+            int limit = region.limit();
+            for (int i = 0; i < limit; i++) {
+                byte b = region.get(i);
+                // regions never end between \r and \n
+                if (b == '\n' || (b == '\r' && (i + 1 == limit || region.get(i + 1) != '\n'))) {
+                    count++;
+                }
+            }
+        }
+        if (!regions.isEmpty()) {
+            ByteBuffer last = regions.get(regions.size() - 1);
+            if (!isLineBreak(last.get(last.limit() - 1))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Stream<String> lines() {
+        return StreamSupport.stream(spliterator(MappedLines::decode), false);
+    }
+
+    /**
+     * Lines as views over the mapped bytes; nothing is copied or decoded until <code>toString</code> is called.
+     * Each byte is exposed as one char, so this is only meaningful for ASCII (or ISO-8859-1) content.
+     */
+    public Stream<CharSequence> charSequences() {
+        return StreamSupport.stream(spliterator((buffer, start, length, scratch) -> new ByteCharSequence(this, buffer, start, length)), false);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        mappings.forEach(MappedLines::unmap);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("MappedLines is closed");
+        }
+    }
+
+    private <T> Spliterator<T> spliterator(LineReader<T> reader) {
+        checkOpen();
+        int end = regions.isEmpty() ? 0 : regions.get(regions.size() - 1).limit();
+        return new LineSpliterator<>(this, reader, 0, regions.size(), 0, end);
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int length, Scratch scratch) {
+        byte[] bytes = scratch.bytes(length);
+        ByteBuffer view = scratch.view(buffer);
+        view.position(start);
+        view.get(bytes, 0, length);
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] < 0) {
+                try {
+                    return scratch.decoder.decode(ByteBuffer.wrap(bytes, 0, length)).toString();
+                } catch (CharacterCodingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        // plain ASCII, which the String constructor copies without any checks
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return the index of the last \n, or of the last \r when that is not the final byte and so can't be the
+     * first half of a \r\n continuing past the buffer, -1 if there is neither
+     */
+    private static int lastLineBreak(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = limit - 1; i >= 0; i--) {
+            byte b = buffer.get(i);
+            if (b == '\n' || (b == '\r' && i < limit - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int nextLineBreak(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isLineBreak(buffer.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return where the line after the line break at <code>index</code> starts
+     */
+    private static int afterLineBreak(ByteBuffer buffer, int index, int to) {
+        return buffer.get(index) == '\r' && index + 1 < to && buffer.get(index + 1) == '\n' ? index + 2 : index + 1;
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Java 8 has no public way to unmap a buffer, so this calls its cleaner when the JVM lets us.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // left to the garbage collector
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineReader<T> {
+        T read(ByteBuffer buffer, int start, int length, Scratch scratch);
+    }
+
+    /**
+     * Per spliterator state reused from line to line, so decoding a line allocates nothing but the String.
+     */
+    private static class Scratch {
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        private byte[] bytes = new byte[256];
+        private ByteBuffer source;
+        private ByteBuffer view;
+
+        byte[] bytes(int length) {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        // regions are shared between spliterators, so each reads through its own duplicate
+        ByteBuffer view(ByteBuffer region) {
+            if (source != region) {
+                source = region;
+                view = region.duplicate();
+            }
+            return view;
+        }
+    }
+
+    /**
+     * Lines of the regions <code>[region, lastRegion)</code>, starting at <code>position</code> in the first one
+     * and ending at <code>end</code> in the last one. Splits between regions first, then at a line terminator.
+     */
+    private static class LineSpliterator<T> implements Spliterator<T> {
+
+        private final MappedLines owner;
+        private final List<ByteBuffer> regions;
+        private final LineReader<T> reader;
+        private int region;
+        private final int lastRegion;
+        private int position;
+        private final int end;
+        private final Scratch scratch = new Scratch();
+
+        LineSpliterator(MappedLines owner, LineReader<T> reader, int region, int lastRegion, int position, int end) {
+            this.owner = owner;
+            this.regions = owner.regions;
+            this.reader = reader;
+            this.region = region;
+            this.lastRegion = lastRegion;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            owner.checkOpen();
+            while (region < lastRegion) {
+                ByteBuffer buffer = regions.get(region);
+                int limit = regionEnd();
+                if (position < limit) {
+                    int start = position;
+                    int lineBreak = nextLineBreak(buffer, start, limit);
+                    int lineEnd = lineBreak < 0 ? limit : lineBreak;
+                    position = lineBreak < 0 ? limit : afterLineBreak(buffer, lineBreak, limit);
+                    action.accept(reader.read(buffer, start, lineEnd - start, scratch));
+                    return true;
+                }
+                region++;
+                position = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (lastRegion - region > 1) {
+                int middle = (region + lastRegion) >>> 1;
+                Spliterator<T> prefix = new LineSpliterator<>(owner, reader, region, middle, position, regions.get(middle - 1).limit());
+                region = middle;
+                position = 0;
+                return prefix;
+            }
+            if (region == lastRegion || end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = regions.get(region);
+            int lineBreak = nextLineBreak(buffer, position + (end - position) / 2, end);
+            if (lineBreak < 0) {
+                return null;
+            }
+            // never between \r and \n, or the suffix would start with an empty line
+            int cut = afterLineBreak(buffer, lineBreak, end);
+            if (cut == end) {
+                return null;
+            }
+            Spliterator<T> prefix = new LineSpliterator<>(owner, reader, region, region + 1, position, cut);
+            position = cut;
+            return prefix;
+        }
+
+        /**
+         * @return the number of bytes left, which is at least the number of lines left
+         */
+        @Override
+        public long estimateSize() {
+            long bytes = 0;
+            for (int i = region; i < lastRegion; i++) {
+                bytes += (i == lastRegion - 1 ? end : regions.get(i).limit()) - (i == region ? position : 0);
+            }
+            return bytes;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE | NONNULL;
+        }
+
+        private int regionEnd() {
+            return region == lastRegion - 1 ? end : regions.get(region).limit();
+        }
+    }
+
+    private static class ByteCharSequence implements CharSequence {
+
+        private final MappedLines owner;
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        ByteCharSequence(MappedLines owner, ByteBuffer buffer, int offset, int length) {
+            this.owner = owner;
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+            owner.checkOpen();
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException(start + ", " + end);
+            }
+            return new ByteCharSequence(owner, buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            owner.checkOpen();
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
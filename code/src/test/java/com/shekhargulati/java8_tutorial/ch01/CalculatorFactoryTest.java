@@ -0,0 +1,82 @@
+package com.shekhargulati.java8_tutorial.ch01;
+
+import com.shekhargulati.java8_tutorial.ch01.CalculatorProvider.Capability;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CalculatorFactoryTest {
+
+    @Test
+    public void shouldLoadAllProvidersFromServiceFiles() throws Exception {
+        assertThat(new ArrayList<>(CalculatorFactory.providers().keySet()),
+                is(equalTo(Arrays.asList("basic", "exact", "saturating", "big-integer", "memoizing"))));
+    }
+
+    @Test
+    public void shouldShareOneInstancePerName() throws Exception {
+        assertThat(CalculatorFactory.getInstance("exact"), is(sameInstance(CalculatorFactory.getInstance("exact"))));
+        assertThat(CalculatorFactory.getInstance("basic"), is(instanceOf(BasicCalculator.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForUnknownName() throws Exception {
+        CalculatorFactory.getInstance("unknown");
+    }
+
+    @Test
+    public void shouldFindCalculatorsByCapability() throws Exception {
+        assertThat(CalculatorFactory.getInstance(Capability.SATURATING).add(Integer.MAX_VALUE, 1), is(equalTo(Integer.MAX_VALUE)));
+        assertThat(CalculatorFactory.getInstance(Capability.WRAPPING).add(Integer.MAX_VALUE, 1), is(equalTo(Integer.MIN_VALUE)));
+        assertThat(CalculatorFactory.getInstance(Capability.MEMOIZING), is(instanceOf(MemoizingCalculator.class)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldMemoizeTheBigIntegerCalculator() throws Exception {
+        Calculator calculator = CalculatorFactory.getInstance("memoizing");
+        assertThat(calculator.multiply(6, 7), is(equalTo(42)));
+        calculator.multiply(Integer.MAX_VALUE, 2);
+    }
+
+    @Test
+    public void shouldSwitchTheDefaultWithTheSystemProperty() throws Throwable {
+        assertThat(defaultCalculatorWith("saturating"), is(equalTo(SaturatingCalculator.class.getName())));
+        assertThat(defaultCalculatorWith(null), is(equalTo(BasicCalculator.class.getName())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailWithIllegalArgumentForUnknownDefault() throws Throwable {
+        defaultCalculatorWith("unknown");
+    }
+
+    // the default is read once per class loader, so every check loads the factory in a fresh one
+    private static String defaultCalculatorWith(String implementation) throws Throwable {
+        List<URL> classpath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classpath.add(new File(entry).toURI().toURL());
+        }
+        if (implementation != null) {
+            System.setProperty(CalculatorFactory.IMPLEMENTATION_PROPERTY, implementation);
+        }
+        try (URLClassLoader loader = new URLClassLoader(classpath.toArray(new URL[0]), null)) {
+            Class<?> factory = loader.loadClass(CalculatorFactory.class.getName());
+            return factory.getMethod("getInstance").invoke(null).getClass().getName();
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            System.clearProperty(CalculatorFactory.IMPLEMENTATION_PROPERTY);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.shekhargulati.java8_tutorial.ch01;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -45,4 +48,49 @@ public class CalculatorTest {
         assertThat(remainder, is(equalTo(5)));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldAddArraysElementByElement() throws Exception {
+        int[] sums = new int[3];
+        calculator.addAll(new int[]{1, 2, 3}, new int[]{10, 20, 30}, sums);
+        assertThat(sums, is(equalTo(new int[]{11, 22, 33})));
+    }
+
+    @Test
+    public void shouldFindRemaindersOfLargeArraysInParallel() throws Exception {
+        int[] numbers = IntStream.range(0, 100_000).toArray();
+        int[] divisors = IntStream.range(0, 100_000).map(i -> 19).toArray();
+        int[] remainders = new int[numbers.length];
+        calculator.remainderAll(numbers, divisors, remainders);
+        assertThat(remainders[100], is(equalTo(5)));
+        assertThat(calculator.sum(remainders), is(equalTo(IntStream.of(numbers).map(i -> i % 19).asLongStream().sum())));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldThrowArithmeticExceptionWhenLongSumOverflows() throws Exception {
+        calculator.sum(new long[]{Long.MAX_VALUE, 1});
+    }
+
+    @Test
+    public void shouldSumLongsWhoseIntermediateOverflowCancelsOut() throws Exception {
+        assertThat(calculator.sum(new long[]{Long.MAX_VALUE, 1, -1}), is(equalTo(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldSumLargeLongArraysWhoseIntermediateOverflowCancelsOut() throws Exception {
+        long[] values = new long[BasicCalculator.PARALLEL_THRESHOLD * 2];
+        values[0] = Long.MAX_VALUE;
+        for (int i = 1; i < values.length - 1; i++) {
+            values[i] = i % 2 == 1 ? 1 : -1;
+        }
+        assertThat(calculator.sum(values), is(equalTo(Long.MAX_VALUE)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldThrowArithmeticExceptionWhenLargeLongSumOverflows() throws Exception {
+        long[] values = new long[BasicCalculator.PARALLEL_THRESHOLD * 2];
+        Arrays.fill(values, 1);
+        values[0] = Long.MAX_VALUE;
+        calculator.sum(values);
+    }
+}
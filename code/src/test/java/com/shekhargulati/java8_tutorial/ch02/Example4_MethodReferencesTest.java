@@ -0,0 +1,63 @@
+package com.shekhargulati.java8_tutorial.ch02;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class Example4_MethodReferencesTest {
+
+    // below, at and above the 16K elements where the parallel variants start to split the work
+    private static final int[] SIZES = {0, 1, 1_000, (1 << 14) - 1, 1 << 14, 100_003};
+
+    @Test
+    public void shouldTransformInParallelLikeSequentially() throws Exception {
+        for (int size : SIZES) {
+            List<String> numbers = numbers(size);
+
+            assertThat("size " + size, Example4_MethodReferences.parallelTransform(numbers, Integer::parseInt),
+                    is(equalTo(Example4_MethodReferences.transform(numbers, Integer::parseInt))));
+            assertArrayEquals("size " + size, Example4_MethodReferences.transformToInt(numbers, Integer::parseInt),
+                    Example4_MethodReferences.parallelTransformToInt(numbers, Integer::parseInt));
+            assertArrayEquals("size " + size, Example4_MethodReferences.transformToLong(numbers, Long::parseLong),
+                    Example4_MethodReferences.parallelTransformToLong(numbers, Long::parseLong));
+        }
+    }
+
+    @Test
+    public void shouldTransformListsWithoutRandomAccess() throws Exception {
+        for (int size : SIZES) {
+            List<String> numbers = numbers(size).stream().collect(toCollection(LinkedList::new));
+            List<Integer> expected = IntStream.range(0, size).boxed().collect(toList());
+
+            assertThat("size " + size, Example4_MethodReferences.parallelTransform(numbers, Integer::parseInt), is(equalTo(expected)));
+            assertArrayEquals("size " + size, IntStream.range(0, size).toArray(),
+                    Example4_MethodReferences.parallelTransformToInt(numbers, Integer::parseInt));
+            assertArrayEquals("size " + size, IntStream.range(0, size).asLongStream().toArray(),
+                    Example4_MethodReferences.parallelTransformToLong(numbers, Long::parseLong));
+        }
+    }
+
+    @Test
+    public void shouldReturnAGrowableListFromParallelTransform() throws Exception {
+        List<Integer> lengths = Example4_MethodReferences.parallelTransform(numbers(1 << 15), String::length);
+
+        assertThat(lengths, is(instanceOf(ArrayList.class)));
+        lengths.add(0);
+        assertThat(lengths.size(), is(equalTo((1 << 15) + 1)));
+    }
+
+    private static List<String> numbers(int size) {
+        return IntStream.range(0, size).mapToObj(Integer::toString).collect(toList());
+    }
+}
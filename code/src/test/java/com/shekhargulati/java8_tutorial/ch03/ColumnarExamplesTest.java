@@ -0,0 +1,50 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskStore;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ColumnarExamplesTest {
+
+    private final List<Task> tasks = getTasks(1000);
+    private final TaskStore store = TaskStore.of(tasks);
+    private final Examples examples = new Examples();
+    private final ColumnarExamples columnarExamples = new ColumnarExamples();
+
+    @Test
+    public void shouldGiveSameResultsAsStreamQueries() throws Exception {
+        assertThat(columnarExamples.allReadingTasks(store), is(equalTo(examples.allReadingTasks(tasks))));
+        assertThat(columnarExamples.allReadingTasksSortedByCreatedOnDesc(store), is(equalTo(examples.allReadingTasksSortedByCreatedOnDesc(tasks))));
+        assertThat(columnarExamples.allDistinctTasks(store), is(equalTo(examples.allDistinctTasks(tasks))));
+        assertThat(columnarExamples.topN(store, 10), is(equalTo(examples.topN(tasks, 10))));
+        assertThat(columnarExamples.countAllReadingTasks(store), is(equalTo(examples.countAllReadingTasks(tasks))));
+        assertThat(columnarExamples.allDistinctTags(store), is(equalTo(examples.allDistinctTags(tasks))));
+        assertThat(columnarExamples.isAllReadingTasksWithTagBooks(store), is(equalTo(examples.isAllReadingTasksWithTagBooks(tasks))));
+        assertThat(columnarExamples.isAnyReadingTasksWithTagJava8(store), is(equalTo(examples.isAnyReadingTasksWithTagJava8(tasks))));
+        assertThat(columnarExamples.joinAllTaskTitles(store), is(equalTo(examples.joinAllTaskTitles(tasks))));
+    }
+
+    @Test
+    public void shouldSelectTopNWithoutSortingEveryRow() throws Exception {
+        for (int n : new int[]{0, 1, 2, 37, 1000, 5000}) {
+            assertThat(columnarExamples.topN(store, n), is(equalTo(examples.topN(tasks, n))));
+        }
+    }
+
+    @Test
+    public void shouldRecreateTaskFromColumns() throws Exception {
+        Task task = tasks.get(42);
+        Task view = store.get(42);
+        assertThat(view, is(equalTo(task)));
+        assertThat(view.getId(), is(equalTo(task.getId())));
+        assertThat(view.getCreatedOn(), is(equalTo(task.getCreatedOn())));
+        assertThat(view.getTags(), is(equalTo(task.getTags())));
+    }
+}
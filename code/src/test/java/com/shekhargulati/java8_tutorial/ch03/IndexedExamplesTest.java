@@ -0,0 +1,43 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.TagIndex;
+import com.shekhargulati.java8_tutorial.domain.Task;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IndexedExamplesTest {
+
+    private final Examples examples = new Examples();
+    private final IndexedExamples indexedExamples = new IndexedExamples();
+
+    @Test
+    public void shouldAnswerLikeTheStreamExamples() throws Exception {
+        List<Task> tasks = getTasks(5_000);
+        try (TagIndex index = TagIndex.of(tasks)) {
+            assertThat(indexedExamples.countAllReadingTasks(index), is(equalTo(examples.countAllReadingTasks(tasks))));
+            assertThat(new HashSet<>(indexedExamples.allDistinctTags(index)), is(equalTo(new HashSet<>(examples.allDistinctTags(tasks)))));
+            assertThat(indexedExamples.isAllReadingTasksWithTagBooks(index), is(equalTo(examples.isAllReadingTasksWithTagBooks(tasks))));
+            assertThat(indexedExamples.isAnyReadingTasksWithTagJava8(index), is(equalTo(examples.isAnyReadingTasksWithTagJava8(tasks))));
+        }
+    }
+
+    @Test
+    public void shouldFollowTagsAddedToIndexedTasks() throws Exception {
+        List<Task> tasks = getTasks(1_000);
+        try (TagIndex index = TagIndex.of(tasks)) {
+            tasks.stream().filter(task -> task.getTags().contains("java8")).forEach(task -> task.addTag("books"));
+            tasks.get(0).addTag("java8");
+
+            assertThat(indexedExamples.isAllReadingTasksWithTagBooks(index), is(equalTo(examples.isAllReadingTasksWithTagBooks(tasks))));
+            assertThat(indexedExamples.isAnyReadingTasksWithTagJava8(index), is(equalTo(examples.isAnyReadingTasksWithTagJava8(tasks))));
+            assertThat(new HashSet<>(indexedExamples.allDistinctTags(index)), is(equalTo(new HashSet<>(examples.allDistinctTags(tasks)))));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JoiningTest {
+
+    private final List<String> titles = IntStream.range(0, 20_000).mapToObj(i -> "t\u00e2che " + i + (i % 7 == 0 ? " \ud83d\ude80" : "")).collect(toList());
+    private final String expected = titles.stream().collect(joining(" *** "));
+
+    @Test
+    public void shouldJoinSequentiallyAndInParallel() throws Exception {
+        assertThat(Joining.join(titles, Function.identity(), " *** "), is(equalTo(expected)));
+        assertThat(Joining.join(titles, Function.identity(), " *** ", true), is(equalTo(expected)));
+        assertThat(Joining.join(Collections.<String>emptyList(), Function.identity(), " *** ", true), is(equalTo("")));
+    }
+
+    @Test
+    public void shouldStreamJoinedTextToWritersAndChannels() throws Exception {
+        StringWriter writer = new StringWriter();
+        Joining.writeTo(titles, Function.identity(), " *** ", writer);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Joining.writeTo(titles, Function.identity(), " *** ", Channels.newChannel(bytes), StandardCharsets.UTF_8);
+
+        assertThat(writer.toString(), is(equalTo(expected)));
+        assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8), is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldJoinAndWriteListsWithoutRandomAccess() throws Exception {
+        List<String> linked = new LinkedList<>(titles);
+
+        StringWriter writer = new StringWriter();
+        Joining.writeTo(linked, Function.identity(), " *** ", writer);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Joining.writeTo(linked, Function.identity(), " *** ", Channels.newChannel(bytes), StandardCharsets.UTF_8);
+
+        assertThat(Joining.join(linked, Function.identity(), " *** "), is(equalTo(expected)));
+        assertThat(Joining.join(linked, Function.identity(), " *** ", true), is(equalTo(expected)));
+        assertThat(writer.toString(), is(equalTo(expected)));
+        assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8), is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldWriteNullPartsAsNull() throws Exception {
+        List<String> withNull = Arrays.asList(null, "x", null);
+        String expected = null + " *** " + "x" + " *** " + null;
+
+        StringWriter writer = new StringWriter();
+        Joining.writeTo(withNull, Function.identity(), " *** ", writer);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Joining.writeTo(withNull, Function.identity(), " *** ", Channels.newChannel(bytes), StandardCharsets.UTF_8);
+
+        assertThat(Joining.join(withNull, Function.identity(), " *** "), is(equalTo(expected)));
+        assertThat(writer.toString(), is(equalTo(expected)));
+        assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8), is(equalTo(expected)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskStore;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class QueryPlannerTest {
+
+    private final Examples examples = new Examples();
+
+    @Test
+    public void shouldGiveSameResultsAsStreamQueriesWhicheverPlanRuns() throws Exception {
+        List<Task> tasks = getTasks(2000);
+        QueryPlanner planner = new QueryPlanner(4);
+        Set<QueryPlanner.Plan> plansRun = EnumSet.noneOf(QueryPlanner.Plan.class);
+
+        for (int i = 0; i < 64; i++) {
+            assertThat(planner.allReadingTasks(tasks), is(equalTo(examples.allReadingTasks(tasks))));
+            plansRun.add(planner.explain().getPlan());
+            assertThat(planner.topN(tasks, 10), is(equalTo(examples.topN(tasks, 10))));
+            plansRun.add(planner.explain().getPlan());
+            assertThat(planner.countAllReadingTasks(tasks), is(equalTo(examples.countAllReadingTasks(tasks))));
+            plansRun.add(planner.explain().getPlan());
+            assertThat(planner.allDistinctTags(tasks), is(equalTo(examples.allDistinctTags(tasks))));
+            assertThat(planner.isAnyReadingTasksWithTagJava8(tasks), is(equalTo(examples.isAnyReadingTasksWithTagJava8(tasks))));
+            assertThat(planner.joinAllTaskTitles(tasks), is(equalTo(examples.joinAllTaskTitles(tasks))));
+        }
+
+        assertThat(plansRun.size() > 1, is(true));
+    }
+
+    @Test
+    public void shouldRunSmallListsSequentially() throws Exception {
+        List<Task> tasks = getTasks(10);
+        QueryPlanner planner = new QueryPlanner(4);
+
+        planner.countAllReadingTasks(tasks);
+
+        assertThat(planner.explain().getPlan(), is(equalTo(QueryPlanner.Plan.SEQUENTIAL)));
+    }
+
+    @Test
+    public void shouldReuseTheStoreOnlyWhileTheTasksAreUnchanged() throws Exception {
+        List<Task> tasks = new ArrayList<>(getTasks(100));
+        QueryPlanner planner = new QueryPlanner(4);
+        ColumnarExamples columnar = new ColumnarExamples();
+
+        TaskStore store = planner.storeFor(tasks);
+        assertThat(planner.storeFor(tasks), is(sameInstance(store)));
+        assertThat(planner.storeFor(new ArrayList<>(tasks)), is(sameInstance(store)));
+
+        tasks.set(0, new Task("Replaced in place", TaskType.CODING));
+        TaskStore replaced = planner.storeFor(tasks);
+        assertThat(replaced == store, is(false));
+        assertThat(columnar.joinAllTaskTitles(replaced), is(equalTo(examples.joinAllTaskTitles(tasks))));
+
+        tasks.get(50).addTag("added-later");
+        TaskStore tagged = planner.storeFor(tasks);
+        assertThat(tagged == replaced, is(false));
+        assertThat(columnar.allDistinctTags(tagged), is(equalTo(examples.allDistinctTags(tasks))));
+
+        planner.invalidate();
+        assertThat(planner.storeFor(tasks) == tagged, is(false));
+    }
+
+    @Test
+    public void shouldStopListeningToTasksOfAReplacedStore() throws Exception {
+        List<Task> first = getTasks(100);
+        List<Task> second = getTasks(100);
+        QueryPlanner planner = new QueryPlanner(4);
+
+        planner.storeFor(first);
+        TaskStore store = planner.storeFor(second);
+        first.get(0).addTag("added-later");
+
+        assertThat(planner.storeFor(second), is(sameInstance(store)));
+    }
+
+    @Test
+    public void shouldFollowListsChangedInPlace() throws Exception {
+        List<Task> tasks = new ArrayList<>(getTasks(2000));
+        QueryPlanner planner = new QueryPlanner(4);
+
+        for (int i = 0; i < 64; i++) {
+            tasks.get(i * 7).addTag("tag-" + i);
+            tasks.set(i * 11, new Task("task " + i, TaskType.READING));
+            assertThat(planner.allDistinctTags(tasks), is(equalTo(examples.allDistinctTags(tasks))));
+            assertThat(planner.countAllReadingTasks(tasks), is(equalTo(examples.countAllReadingTasks(tasks))));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class StreamDiagnosticsTest {
+
+    @Test
+    public void shouldRecordEveryElementOfAParallelStreamInExactlyOneChunk() throws Exception {
+        StreamDiagnostics diagnostics = new StreamDiagnostics();
+
+        long sum = diagnostics.instrument(IntStream.rangeClosed(1, 10_000).parallel()).asLongStream().sum();
+
+        StreamDiagnostics.Report report = diagnostics.report();
+        assertThat(sum, equalTo(50_005_000L));
+        assertThat(report.getChunkSizes().getSum(), equalTo(10_000L));
+        assertThat(report.getChunkSizes().getCount(), equalTo((long) report.getSplits() + 1));
+    }
+
+    @Test
+    public void shouldNotSplitASequentialStream() throws Exception {
+        StreamDiagnostics diagnostics = new StreamDiagnostics();
+
+        long count = diagnostics.instrument(IntStream.range(0, 100).boxed()).filter(i -> i % 2 == 0).count();
+
+        assertThat(count, equalTo(50L));
+        assertThat(diagnostics.report().getSplits(), equalTo(0));
+        assertThat(diagnostics.report().isWorthParallel(), equalTo(false));
+    }
+
+    @Test
+    public void shouldCloseTheInstrumentedStream() throws Exception {
+        StreamDiagnostics diagnostics = new StreamDiagnostics();
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean intClosed = new AtomicBoolean();
+
+        try (Stream<String> lines = diagnostics.instrument(Stream.of("a", "b").onClose(() -> closed.set(true)))) {
+            assertThat(lines.count(), equalTo(2L));
+        }
+        diagnostics.instrument(IntStream.range(0, 10).onClose(() -> intClosed.set(true))).close();
+
+        assertThat(closed.get(), equalTo(true));
+        assertThat(intClosed.get(), equalTo(true));
+    }
+}
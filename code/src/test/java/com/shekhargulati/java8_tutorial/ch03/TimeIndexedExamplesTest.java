@@ -0,0 +1,48 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskTimeIndex;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.List;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TimeIndexedExamplesTest {
+
+    private final List<Task> tasks = getTasks(1000);
+    private final TaskTimeIndex index = TaskTimeIndex.of(tasks);
+    private final Examples examples = new Examples();
+    private final TimeIndexedExamples timeIndexedExamples = new TimeIndexedExamples();
+
+    @Test
+    public void shouldGiveSameResultsAsSortingStreamQueries() throws Exception {
+        assertThat(timeIndexedExamples.allReadingTasks(index), is(equalTo(examples.allReadingTasks(tasks))));
+        assertThat(timeIndexedExamples.allReadingTasksSortedByCreatedOnDesc(index), is(equalTo(examples.allReadingTasksSortedByCreatedOnDesc(tasks))));
+        assertThat(timeIndexedExamples.topN(index, 10), is(equalTo(examples.topN(tasks, 10))));
+    }
+
+    @Test
+    public void shouldRollUpTheTasksOfARange() throws Exception {
+        LocalDate from = LocalDate.of(2015, Month.JANUARY, 1);
+        LocalDate to = LocalDate.of(2015, Month.DECEMBER, 31);
+        List<Task> inRange = tasks.stream().
+                filter(task -> !task.getCreatedOn().isBefore(from) && !task.getCreatedOn().isAfter(to)).
+                collect(toList());
+
+        assertThat(index.between(from, to).collect(toList()).size(), is(equalTo(inRange.size())));
+        assertThat(index.count(from, to), is(equalTo(inRange.size())));
+        assertThat(index.countsPerDay(from, to).values().stream().mapToInt(Integer::intValue).sum(), is(equalTo(inRange.size())));
+        assertThat(index.countsPerWeek(from, to, DayOfWeek.MONDAY).values().stream().mapToInt(Integer::intValue).sum(), is(equalTo(inRange.size())));
+        assertThat(index.countsPerMonth(from, to).get(YearMonth.of(2015, Month.MARCH)),
+                is(equalTo((int) inRange.stream().filter(task -> task.getCreatedOn().getMonth() == Month.MARCH).count())));
+    }
+}
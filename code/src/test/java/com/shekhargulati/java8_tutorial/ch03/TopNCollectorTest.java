@@ -0,0 +1,57 @@
+package com.shekhargulati.java8_tutorial.ch03;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.shekhargulati.java8_tutorial.ch03.TopNCollector.topN;
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TopNCollectorTest {
+
+    @Test
+    public void shouldCollectSmallestNumbersInOrder() throws Exception {
+        List<Integer> top3 = IntStream.of(9, 4, 7, 1, 8, 2).boxed().collect(topN(3, Comparator.<Integer>naturalOrder()));
+        assertThat(top3, is(equalTo(IntStream.of(1, 2, 4).boxed().collect(toList()))));
+    }
+
+    @Test
+    public void shouldReturnEverythingWhenNIsLargerThanStream() throws Exception {
+        List<Integer> top = IntStream.of(3, 1, 2).boxed().collect(topN(10, Comparator.<Integer>naturalOrder()));
+        assertThat(top, is(equalTo(IntStream.of(1, 2, 3).boxed().collect(toList()))));
+    }
+
+    @Test
+    public void shouldMatchSortedAndLimitIncludingTiesForParallelStreams() throws Exception {
+        List<Task> tasks = getTasks(10000);
+        Comparator<Task> byCreatedOn = comparing(Task::getCreatedOn);
+
+        List<Task> expected = tasks.stream().sorted(byCreatedOn).limit(50).collect(toList());
+        List<Task> sequential = tasks.stream().collect(topN(50, byCreatedOn));
+        List<Task> parallel = tasks.parallelStream().collect(topN(50, byCreatedOn));
+
+        assertThat(sequential, is(equalTo(expected)));
+        assertThat(parallel, is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldMatchExistingTopNQuery() throws Exception {
+        List<Task> tasks = getTasks(1000);
+        List<String> expected = new Examples().allReadingTasks(tasks).subList(0, 10);
+        assertThat(new Examples().topN(tasks, 10), is(equalTo(expected)));
+        assertThat(new Examples(true).topN(tasks, 10), is(equalTo(expected)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenNIsNegative() throws Exception {
+        topN(-1, Comparator.<Integer>naturalOrder());
+    }
+}
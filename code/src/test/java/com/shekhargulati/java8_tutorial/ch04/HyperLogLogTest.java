@@ -0,0 +1,74 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void shouldEstimateAThousandDistinctValuesWithinTwoPercent() throws Exception {
+        assertWithin(1_000, 0.02);
+    }
+
+    @Test
+    public void shouldEstimateAHundredThousandDistinctValuesWithinThreePercent() throws Exception {
+        assertWithin(100_000, 0.03);
+    }
+
+    @Test
+    public void shouldIgnoreDuplicates() throws Exception {
+        HyperLogLog sketch = new HyperLogLog();
+        IntStream.range(0, 50_000).forEach(i -> sketch.add("task-" + (i % 500)));
+
+        assertThat(withinRelativeError(sketch.estimate(), 500, 0.02), is(true));
+        assertThat(new HyperLogLog().estimate(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldCountStringsWithCollidingHashCodesApart() throws Exception {
+        // "Aa" and "BB" share a hashCode, so do all 2^10 strings made of 10 such pairs
+        HyperLogLog sketch = new HyperLogLog();
+        for (int bits = 0; bits < 1 << 10; bits++) {
+            StringBuilder value = new StringBuilder();
+            for (int pair = 0; pair < 10; pair++) {
+                value.append((bits & (1 << pair)) == 0 ? "Aa" : "BB");
+            }
+            sketch.add(value.toString());
+        }
+
+        assertThat(withinRelativeError(sketch.estimate(), 1 << 10, 0.02), is(true));
+    }
+
+    @Test
+    public void shouldHashDistinctLongsApart() throws Exception {
+        assertThat(HyperLogLog.hash(1L) == HyperLogLog.hash(1L << 32), is(false));
+        assertThat(HyperLogLog.hash(-1L) == HyperLogLog.hash(0L), is(false));
+        assertThat(HyperLogLog.hash(42), is(equalTo(HyperLogLog.hash(42L))));
+    }
+
+    @Test
+    public void shouldMergeParallelPartialsLikeASingleSketch() throws Exception {
+        HyperLogLog sequential = IntStream.range(0, 100_000).boxed().collect(MoreCollectors.distinctCount(i -> "task-" + i));
+        HyperLogLog parallel = IntStream.range(0, 100_000).parallel().boxed().collect(MoreCollectors.distinctCount(i -> "task-" + i));
+
+        assertThat(parallel.estimate(), is(equalTo(sequential.estimate())));
+    }
+
+    private static void assertWithin(int distinct, double relativeError) {
+        HyperLogLog sketch = new HyperLogLog();
+        // every value is added twice
+        IntStream.range(0, 2 * distinct).forEach(i -> sketch.add("task-" + (i % distinct)));
+        long estimate = sketch.estimate();
+
+        assertThat("estimate " + estimate + " for " + distinct, withinRelativeError(estimate, distinct, relativeError), is(true));
+    }
+
+    private static boolean withinRelativeError(long estimate, long actual, double relativeError) {
+        return Math.abs(estimate - actual) <= relativeError * actual;
+    }
+}
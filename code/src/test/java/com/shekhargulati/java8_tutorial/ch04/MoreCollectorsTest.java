@@ -0,0 +1,55 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import com.shekhargulati.java8_tutorial.domain.Task;
+import com.shekhargulati.java8_tutorial.domain.TaskType;
+import com.shekhargulati.java8_tutorial.utils.DataUtils;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MoreCollectorsTest {
+
+    private final List<Task> tasks = DataUtils.getTasks(10_000);
+
+    @Test
+    public void shouldGroupByEnumLikeGroupingBy() throws Exception {
+        assertThat(tasks.stream().collect(MoreCollectors.groupingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType)))));
+        assertThat(tasks.parallelStream().collect(MoreCollectors.groupingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType)))));
+        assertThat(tasks.parallelStream().collect(MoreCollectors.groupingByEnum(TaskType.class, Task::getType, mapping(Task::getTitle, toList()))),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType, mapping(Task::getTitle, toList()))))));
+    }
+
+    @Test
+    public void shouldCountByEnumLikeGroupingByCounting() throws Exception {
+        assertThat(tasks.stream().collect(MoreCollectors.countingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType, counting())))));
+        assertThat(tasks.parallelStream().collect(MoreCollectors.countingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType, counting())))));
+        assertThat(tasks.parallelStream().collect(MoreCollectors.countingByEnumConcurrent(TaskType.class, Task::getType)),
+                is(equalTo(tasks.stream().collect(groupingBy(Task::getType, counting())))));
+    }
+
+    @Test
+    public void shouldLeaveOutConstantsWithoutElementsLikeGroupingBy() throws Exception {
+        List<Task> noBlogging = tasks.stream().filter(task -> task.getType() != TaskType.BLOGGING).collect(toList());
+
+        assertThat(noBlogging.stream().collect(MoreCollectors.groupingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(noBlogging.stream().collect(groupingBy(Task::getType)))));
+        assertThat(noBlogging.stream().collect(MoreCollectors.countingByEnum(TaskType.class, Task::getType)),
+                is(equalTo(noBlogging.stream().collect(groupingBy(Task::getType, counting())))));
+        assertThat(noBlogging.parallelStream().collect(MoreCollectors.countingByEnumConcurrent(TaskType.class, Task::getType)),
+                is(equalTo(noBlogging.stream().collect(groupingBy(Task::getType, counting())))));
+        assertThat(Collections.<Task>emptyList().stream().collect(MoreCollectors.countingByEnum(TaskType.class, Task::getType)).isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,54 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PerfectHashSetTest {
+
+    @Test
+    public void shouldContainExactlyTheGivenWords() throws Exception {
+        Random random = new Random(7);
+        List<String> words = IntStream.range(0, 20_000).mapToObj(i -> Long.toString(random.nextLong() & Long.MAX_VALUE, 36)).collect(toList());
+        Set<String> distinct = new HashSet<>(words);
+        PerfectHashSet set = PerfectHashSet.of(words);
+
+        assertThat(set.size(), is(equalTo(distinct.size())));
+        assertThat(words.stream().allMatch(set::contains), is(true));
+        assertThat(IntStream.range(0, 20_000).mapToObj(i -> Long.toString(random.nextLong() & Long.MAX_VALUE, 36))
+                .filter(word -> !distinct.contains(word))
+                .noneMatch(set::contains), is(true));
+    }
+
+    @Test
+    public void shouldTellApartWordsWithTheSameHashCode() throws Exception {
+        // "Aa" and "BB" share a String hash code, and so do all their concatenations
+        PerfectHashSet set = PerfectHashSet.of(Arrays.asList("Aa", "BB", "AaAa", "AaBB", "BBAa", "", "Aa"));
+
+        assertThat(set.size(), is(equalTo(6)));
+        assertThat(set.contains(new StringBuilder("BBAa")), is(true));
+        assertThat(set.contains(""), is(true));
+        assertThat(set.contains("BBBB"), is(false));
+        assertThat(set.contains("Ab"), is(false));
+    }
+
+    @Test
+    public void shouldContainNothingWhenEmpty() throws Exception {
+        PerfectHashSet set = PerfectHashSet.of(Collections.emptyList());
+
+        assertThat(set.size(), is(equalTo(0)));
+        assertThat(set.contains("java"), is(false));
+        assertThat(set.contains(""), is(false));
+    }
+}
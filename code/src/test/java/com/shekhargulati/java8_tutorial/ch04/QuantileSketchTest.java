@@ -0,0 +1,98 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    public void shouldReportQuantilesWithinRelativeAccuracy() throws Exception {
+        Random random = new Random(42);
+        double[] values = DoubleStream.generate(() -> Math.exp(random.nextGaussian() * 3)).limit(100_000).toArray();
+
+        assertWithinAccuracy(values, 0.01);
+        assertWithinAccuracy(values, 0.05);
+    }
+
+    @Test
+    public void shouldReportQuantilesOfNegativeAndZeroValuesWithinRelativeAccuracy() throws Exception {
+        Random random = new Random(7);
+        double[] values = DoubleStream.generate(() -> random.nextInt(10) == 0 ? 0 : random.nextGaussian() * 1_000).limit(50_000).toArray();
+
+        assertWithinAccuracy(values, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNaN() throws Exception {
+        new QuantileSketch().add(Double.NaN);
+    }
+
+    @Test
+    public void shouldRejectInfiniteValuesWithoutChangingTheSketch() throws Exception {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(1);
+        for (double value : new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            try {
+                sketch.add(value);
+                throw new AssertionError("expected IllegalArgumentException for " + value);
+            } catch (IllegalArgumentException expected) {
+                // infinity has no bucket
+            }
+        }
+        assertThat(sketch.count(), is(equalTo(1L)));
+        assertThat(sketch.max(), is(equalTo(1.0)));
+    }
+
+    @Test
+    public void shouldMergeSketchesLikeASingleSketch() throws Exception {
+        Random random = new Random(3);
+        double[] values = DoubleStream.generate(() -> random.nextDouble() * 1_000 - 100).limit(20_000).toArray();
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            whole.add(values[i]);
+            (i % 3 == 0 ? left : right).add(values[i]);
+        }
+
+        QuantileSketch merged = left.merge(right);
+
+        assertThat(merged.count(), is(equalTo(whole.count())));
+        for (double quantile : QUANTILES) {
+            assertThat(merged.quantile(quantile), is(equalTo(whole.quantile(quantile))));
+        }
+    }
+
+    @Test
+    public void shouldReturnNaNWhenEmpty() throws Exception {
+        assertThat(Double.isNaN(new QuantileSketch().quantile(0.5)), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotMergeSketchesWithDifferentAccuracy() throws Exception {
+        new QuantileSketch(0.01).merge(new QuantileSketch(0.02));
+    }
+
+    private static void assertWithinAccuracy(double[] values, double relativeAccuracy) {
+        QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+        Arrays.stream(values).forEach(sketch::add);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double quantile : QUANTILES) {
+            double expected = sorted[(int) (quantile * (sorted.length - 1))];
+            double actual = sketch.quantile(quantile);
+            assertThat("quantile " + quantile + ": " + actual + " vs " + expected,
+                    Math.abs(actual - expected) <= relativeAccuracy * Math.abs(expected) * (1 + 1e-9), is(true));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.shekhargulati.java8_tutorial.ch04;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class WordCountTest {
+
+    private static final List<String> VOCABULARY = Arrays.asList(
+            "java", "stream", "lambda", "Optional", "don't", "collector", "map-reduce", "42", "bad", "worse", "awful");
+
+    @Test
+    public void shouldCountLikeGroupingBy() throws Exception {
+        List<String> lines = lines(5_000);
+
+        assertThat(counts(lines.stream().collect(WordCount.wordCount())), is(equalTo(groupingByCount(lines))));
+        assertThat(counts(lines.parallelStream().collect(WordCount.wordCount())), is(equalTo(groupingByCount(lines))));
+    }
+
+    @Test
+    public void shouldCountOnlyTheGivenWords() throws Exception {
+        List<String> lines = lines(1_000);
+        PerfectHashSet negative = PerfectHashSet.of(Arrays.asList("bad", "worse", "awful"));
+
+        Map<String, Long> expected = groupingByCount(lines);
+        expected.keySet().retainAll(Arrays.asList("bad", "worse", "awful"));
+
+        assertThat(counts(lines.parallelStream().collect(WordCount.wordCount(negative))), is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldCountNothingInEmptyInput() throws Exception {
+        assertThat(Stream.<String>empty().collect(WordCount.wordCount()).size(), is(equalTo(0)));
+        assertThat(Stream.of("", "   ", "42 !").collect(WordCount.wordCount()).size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldKeepWordsWithTheSameHashApart() throws Exception {
+        // "Aa" and "BB" have the same hash code
+        WordCountTable table = new WordCountTable(4);
+        table.increment("Aa");
+        table.increment("BB");
+        table.increment(new StringBuilder("Aa"));
+
+        assertThat(table.count("Aa"), is(equalTo(2)));
+        assertThat(table.count("BB"), is(equalTo(1)));
+        assertThat(table.count("AaBB"), is(equalTo(0)));
+        assertThat(table.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldGrowMergeAndRankWords() throws Exception {
+        WordCountTable first = new WordCountTable(2);
+        WordCountTable second = new WordCountTable(2);
+        IntStream.range(0, 10_000).forEach(i -> first.increment("word" + (i % 2_000)));
+        IntStream.range(0, 3).forEach(i -> second.increment("word7"));
+        second.increment("zebra");
+
+        first.merge(second);
+
+        assertThat(first.size(), is(equalTo(2_001)));
+        assertThat(first.count("word7"), is(equalTo(8)));
+        assertThat(first.count("zebra"), is(equalTo(1)));
+        assertThat(first.topK(3), is(equalTo(Arrays.asList(
+                new SimpleEntry<>("word7", 8), new SimpleEntry<>("word0", 5), new SimpleEntry<>("word1", 5)))));
+        assertThat(new WordCountTable().topK(3), is(equalTo(Collections.<SimpleEntry<String, Integer>>emptyList())));
+    }
+
+    private static List<String> lines(int count) {
+        Random random = new Random(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> IntStream.range(0, random.nextInt(12))
+                        .mapToObj(w -> VOCABULARY.get(random.nextInt(VOCABULARY.size())))
+                        .collect(Collectors.joining(random.nextBoolean() ? " " : "\t ")))
+                .collect(toList());
+    }
+
+    // the chapter 04 word count with the same normalization: whitespace separated, only a-z kept, lower cased
+    private static Map<String, Long> groupingByCount(List<String> lines) {
+        return lines.stream()
+                .flatMap(line -> Stream.of(line.split("\\s+")))
+                .map(word -> word.replaceAll("[^a-zA-Z]", "").toLowerCase())
+                .filter(word -> !word.isEmpty())
+                .collect(groupingBy(identity(), counting()));
+    }
+
+    private static Map<String, Long> counts(WordCountTable table) {
+        return table.toMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> (long) entry.getValue()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.shekhargulati.java8_tutorial.ch05;
+
+import com.shekhargulati.java8_tutorial.ch05.cache.EvictionPolicy;
+import com.shekhargulati.java8_tutorial.ch05.domain.Task;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ConcurrentTaskRepositoryTest {
+
+    @Test
+    public void shouldTreatNullIdsAsUnknown() throws Exception {
+        List<TaskRepository> repositories = Arrays.asList(new TaskRepository(), new ConcurrentTaskRepository(),
+                new CachingTaskRepository(new ConcurrentTaskRepository(), EvictionPolicy.LRU, 10, Duration.ofMinutes(1)));
+        for (TaskRepository repository : repositories) {
+            repository.loadData();
+
+            assertThat(repository.findOrNull(null), is(nullValue()));
+            assertThat(repository.findAll(Arrays.asList("1", null, "2")).keySet(), is(equalTo(new LinkedHashSet<>(Arrays.asList("1", "2")))));
+        }
+    }
+
+    @Test(expected = TaskNotFoundException.class)
+    public void shouldNotFindANullId() throws Exception {
+        new ConcurrentTaskRepository().find(null);
+    }
+
+    @Test
+    public void shouldKeepEveryTaskSavedFromManyThreads() throws Exception {
+        ConcurrentTaskRepository repository = new ConcurrentTaskRepository();
+        int threads = 8;
+        int tasksPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < tasksPerThread; i++) {
+                        String id = thread + "-" + i;
+                        repository.save(new Task(id, "task " + id));
+                        // reads of ids another thread may be writing right now must not fail
+                        repository.findOrNull(((thread + 1) % threads) + "-" + i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> ids = IntStream.range(0, threads).boxed()
+                .flatMap(thread -> IntStream.range(0, tasksPerThread).mapToObj(i -> thread + "-" + i))
+                .collect(Collectors.toList());
+        assertThat(repository.findAll(ids).size(), is(equalTo(threads * tasksPerThread)));
+        assertThat(repository.find("3-4999").getTitle(), is(equalTo("task 3-4999")));
+    }
+}
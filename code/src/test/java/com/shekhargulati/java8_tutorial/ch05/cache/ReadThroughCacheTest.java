@@ -0,0 +1,222 @@
+package com.shekhargulati.java8_tutorial.ch05.cache;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class ReadThroughCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, String> loader = key -> {
+        loads.incrementAndGet();
+        return key.startsWith("missing") ? null : key.toUpperCase();
+    };
+
+    @Test
+    public void shouldLoadOnlyOnceAndCountHitsAndMisses() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.LRU, 10, Duration.ofMinutes(1));
+
+        assertThat(cache.get("a"), is(equalTo("A")));
+        assertThat(cache.get("a"), is(equalTo("A")));
+
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(cache.stats().hitCount(), is(equalTo(1L)));
+        assertThat(cache.stats().missCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void shouldCacheMissingValues() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.LRU, 10, Duration.ofMinutes(1));
+
+        assertThat(cache.get("missing-1"), is(nullValue()));
+        assertThat(cache.get("missing-1"), is(nullValue()));
+
+        assertThat(loads.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.LRU, 2, Duration.ofMinutes(1));
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        cache.get("a");
+        assertThat(loads.get(), is(equalTo(3)));
+        cache.get("b");
+        assertThat(loads.get(), is(equalTo(4)));
+        assertThat(cache.stats().evictionCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldEvictLeastFrequentlyUsedEntry() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.LFU, 2, Duration.ofMinutes(1));
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+
+        cache.get("a");
+        assertThat(loads.get(), is(equalTo(3)));
+        assertThat(cache.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldKeepPopularEntriesWithTinyLfu() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.W_TINY_LFU, 100, Duration.ofMinutes(1));
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.get("cold" + i);
+        }
+        int loadsBefore = loads.get();
+        for (int i = 0; i < 50; i++) {
+            cache.get("hot" + i);
+        }
+        assertThat(loads.get() - loadsBefore, is(lessThanOrEqualTo(5)));
+        assertThat(cache.size(), is(equalTo(100)));
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterWrite() throws Exception {
+        AtomicLong now = new AtomicLong();
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(loader, EvictionPolicy.LRU, 10, Duration.ofSeconds(10), now::get);
+        cache.get("a");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        cache.get("a");
+
+        assertThat(loads.get(), is(equalTo(2)));
+        assertThat(cache.stats().expirationCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void shouldLoadOnceForConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key;
+        }, EvictionPolicy.LRU, 10, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            futures[0] = executor.submit(() -> cache.get("a"));
+            loading.await();
+            for (int i = 1; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> cache.get("a"));
+            }
+            // the load can't finish before release, so every caller that missed waits for it
+            awaitMisses(cache, futures.length);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertThat(future.get(), is(equalTo("a")));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(loads.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldFailConcurrentCallersWhenTheLoaderThrowsAnError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(key -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError();
+        }, EvictionPolicy.LRU, 10, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> cache.get("a"));
+            loading.await();
+            Future<?> second = executor.submit(() -> cache.get("a"));
+            awaitMisses(cache, 2);
+            release.countDown();
+
+            assertThat(causeOf(first) instanceof StackOverflowError, is(true));
+            assertThat(causeOf(second) instanceof StackOverflowError, is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotCacheAValueLoadedBeforeItWasInvalidated() throws Exception {
+        AtomicInteger version = new AtomicInteger(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>(key -> {
+            String value = key + version.get();
+            if (loading.getCount() > 0) {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return value;
+        }, EvictionPolicy.LRU, 10, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get("a"));
+            loading.await();
+            version.set(2);
+            cache.invalidate("a");
+            release.countDown();
+
+            assertThat(stale.get(), is(equalTo("a1")));
+            assertThat(cache.get("a"), is(equalTo("a2")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitMisses(ReadThroughCache<?, ?> cache, long misses) {
+        while (cache.stats().missCount() < misses) {
+            Thread.yield();
+        }
+    }
+
+    private static Throwable causeOf(Future<?> future) throws InterruptedException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            return e;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.shekhargulati.java8_tutorial.ch06.LongKeyMap.toLongKeyMap;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.CoreMatchers.*;
@@ -50,4 +51,18 @@ public class MapExampleTest {
         Map<String, Task> taskIdToTaskMap = tasks.stream().collect(toMap(Task::getId, identity(), (k1, k2) -> k2));
         assertThat(taskIdToTaskMap, hasEntry(notNullValue(), equalTo(t2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreatePrimitiveKeyedMapFromTaskList() throws Exception {
+        Task t1 = new Task("Write blog on Java 8 Map improvements", TaskType.BLOGGING);
+        Task t2 = new Task("Write factorial program in Java 8", TaskType.CODING);
+        List<Task> tasks = Arrays.asList(t1, t2);
+
+        LongKeyMap<Task> taskIdToTaskMap = tasks.stream().collect(toLongKeyMap(Task::getLongId, identity()));
+
+        assertThat(taskIdToTaskMap.size(), equalTo(2));
+        assertThat(taskIdToTaskMap.get(t1.getLongId()), equalTo(t1));
+        assertThat(taskIdToTaskMap.get(t2.getLongId()), equalTo(t2));
+        assertThat(Long.parseLong(t2.getId()), equalTo(t2.getLongId()));
+    }
+}
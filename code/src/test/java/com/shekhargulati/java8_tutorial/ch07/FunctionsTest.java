@@ -0,0 +1,90 @@
+package com.shekhargulati.java8_tutorial.ch07;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FunctionsTest {
+
+    @Test
+    public void shouldCallMemoizedFunctionOncePerCachedInput() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Integer, Integer> square = Functions.memoize(i -> {
+            calls.incrementAndGet();
+            return i * i;
+        }, 10);
+
+        IntStream.range(0, 1000).parallel().forEach(i -> assertThat(square.apply(i % 10), is(equalTo((i % 10) * (i % 10)))));
+        assertThat(calls.get(), is(equalTo(10)));
+
+        square.apply(10);
+        square.apply(0);
+        assertThat(calls.get(), is(equalTo(12)));
+    }
+
+    @Test
+    public void shouldMemoizeTheResultForANullInput() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, String> describe = Functions.memoize(value -> {
+            calls.incrementAndGet();
+            return String.valueOf(value);
+        }, 10);
+
+        assertThat(describe.apply(null), is(equalTo("null")));
+        assertThat(describe.apply(null), is(equalTo("null")));
+        assertThat(describe.apply("null"), is(equalTo("null")));
+        assertThat(calls.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldComputeLazyValueOnceUnderContention() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> value = Functions.lazy(() -> "computed " + calls.incrementAndGet());
+
+        assertThat(calls.get(), is(equalTo(0)));
+        IntStream.range(0, 1000).parallel().forEach(i -> assertThat(value.get(), is(equalTo("computed 1"))));
+        assertThat(calls.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldChainIntOperatorsInOrder() throws Exception {
+        assertThat(Functions.chain().applyAsInt(3), is(equalTo(3)));
+        assertThat(Functions.chain(i -> i * 2, i -> i + 1).applyAsInt(3), is(equalTo(7)));
+        assertThat(Functions.chain(i -> i * 2, i -> i + 1, i -> -i).applyAsInt(3), is(equalTo(-7)));
+    }
+
+    @Test
+    public void shouldShortCircuitFusedPredicates() throws Exception {
+        AtomicInteger evaluated = new AtomicInteger();
+        Predicate<String> counted = s -> evaluated.incrementAndGet() > 0;
+        Predicate<String> startsWithS = s -> s.startsWith("s");
+
+        Predicate<String> all = Functions.allOf(startsWithS, Functions.<String>allOf(counted, s -> s.length() < 10));
+        Predicate<String> any = Functions.anyOf(startsWithS, counted);
+
+        assertThat(all.test("shekhar"), is(true));
+        assertThat(all.test("rahul"), is(false));
+        assertThat(any.test("shekhar"), is(true));
+        assertThat(evaluated.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldFuseIntPredicates() throws Exception {
+        IntPredicate evenAndPositive = Functions.allOfInt(i -> i % 2 == 0, i -> i > 0);
+        IntPredicate zeroOrNegative = Functions.anyOfInt(i -> i == 0, i -> i < 0);
+
+        assertThat(evenAndPositive.test(4), is(true));
+        assertThat(evenAndPositive.test(-4), is(false));
+        assertThat(zeroOrNegative.test(0), is(true));
+        assertThat(zeroOrNegative.test(3), is(false));
+    }
+}
@@ -0,0 +1,123 @@
+package com.shekhargulati.java8_tutorial.ch09;
+
+import com.shekhargulati.java8_tutorial.ch05.TaskNotFoundException;
+import com.shekhargulati.java8_tutorial.ch05.TaskRepository;
+import com.shekhargulati.java8_tutorial.ch05.domain.Task;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AsyncTaskRepositoryTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final TaskRepository repository = new TaskRepository() {
+        @Override
+        public Map<String, Task> findAll(Collection<String> ids) {
+            batches.add(new ArrayList<>(ids));
+            return super.findAll(ids);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        repository.loadData();
+    }
+
+    @Test
+    public void shouldCoalesceLookupsWithinTheWindowIntoOneBatch() throws Exception {
+        try (AsyncTaskRepository async = new AsyncTaskRepository(repository, Runnable::run, Duration.ofMillis(200), 128)) {
+            CompletableFuture<Task> first = async.find("1");
+            CompletableFuture<Task> second = async.find("2");
+            CompletableFuture<Task> again = async.find("1");
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getTitle(), is(equalTo("hello java 1")));
+            assertThat(second.get(5, TimeUnit.SECONDS).getTitle(), is(equalTo("hello java 2")));
+            assertThat(again.get(5, TimeUnit.SECONDS).getTitle(), is(equalTo("hello java 1")));
+            assertThat(batches.size(), is(equalTo(1)));
+            assertThat(batches.get(0), is(equalTo(Arrays.asList("1", "2"))));
+        }
+    }
+
+    @Test
+    public void shouldSendAFullBatchWithoutWaitingForTheWindow() throws Exception {
+        try (AsyncTaskRepository async = new AsyncTaskRepository(repository, Runnable::run, Duration.ofHours(1), 2)) {
+            CompletableFuture<Task> first = async.find("1");
+            CompletableFuture<Task> second = async.find("2");
+            CompletableFuture<Task> third = async.find("3");
+
+            assertThat(first.isDone() && second.isDone(), is(true));
+            assertThat(third.isDone(), is(false));
+            async.close();
+            assertThat(third.get(5, TimeUnit.SECONDS).getTitle(), is(equalTo("hello java 3")));
+            assertThat(batches.size(), is(equalTo(2)));
+        }
+    }
+
+    @Test
+    public void shouldFailLookupsOfUnknownTasks() throws Exception {
+        try (AsyncTaskRepository async = new AsyncTaskRepository(repository, Runnable::run, Duration.ofMillis(1), 128)) {
+            assertThat(failure(async.find("unknown")), is(instanceOf(TaskNotFoundException.class)));
+        }
+    }
+
+    @Test
+    public void shouldFailTheWholeBatchWhenTheRepositoryThrowsAnError() throws Exception {
+        TaskRepository failing = new TaskRepository() {
+            @Override
+            public Map<String, Task> findAll(Collection<String> ids) {
+                throw new AssertionError("broken repository");
+            }
+        };
+        List<Throwable> uncaught = new ArrayList<>();
+        Executor executor = task -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                uncaught.add(e);
+            }
+        };
+        try (AsyncTaskRepository async = new AsyncTaskRepository(failing, executor, Duration.ofHours(1), 2)) {
+            CompletableFuture<Task> first = async.find("1");
+            CompletableFuture<Task> second = async.find("2");
+
+            assertThat(failure(first), is(instanceOf(AssertionError.class)));
+            assertThat(failure(second), is(instanceOf(AssertionError.class)));
+            assertThat(uncaught.size(), is(equalTo(1)));
+        }
+    }
+
+    @Test
+    public void shouldFailLookupsAfterClose() throws Exception {
+        AsyncTaskRepository async = new AsyncTaskRepository(repository, Runnable::run, Duration.ofMillis(1), 128);
+        async.close();
+
+        assertThat(failure(async.find("1")), is(instanceOf(RejectedExecutionException.class)));
+        assertThat(batches.isEmpty(), is(true));
+    }
+
+    private static Throwable failure(CompletableFuture<Task> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            throw new AssertionError("expected the lookup to fail");
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
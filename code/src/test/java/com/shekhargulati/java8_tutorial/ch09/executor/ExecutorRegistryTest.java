@@ -0,0 +1,159 @@
+package com.shekhargulati.java8_tutorial.ch09.executor;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ExecutorRegistryTest {
+
+    @Test
+    public void shouldRunTasksOnTheNamedExecutorAndRecordTheirLatency() throws Exception {
+        try (ExecutorRegistry registry = ExecutorRegistry.withDefaults()) {
+            String thread = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), registry.get(ExecutorRegistry.IO)).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.startsWith("io-"), is(true));
+            // latency is recorded after the task returned, so wait for the pool to finish
+            assertThat(registry.shutdown(Duration.ofSeconds(5)), is(true));
+            assertThat(registry.metrics().get(ExecutorRegistry.IO).getCompletedTasks(), is(equalTo(1L)));
+            assertThat(registry.metrics().keySet().size(), is(equalTo(2)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRegisterTwoExecutorsWithTheSameName() throws Exception {
+        try (ExecutorRegistry registry = new ExecutorRegistry()) {
+            registry.register("db", 1, 1, BackpressurePolicy.ABORT);
+            registry.register("db", 1, 1, BackpressurePolicy.ABORT);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForUnknownExecutor() throws Exception {
+        try (ExecutorRegistry registry = new ExecutorRegistry()) {
+            registry.get("unknown");
+        }
+    }
+
+    @Test
+    public void shouldCountTasksRejectedByAFullPool() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorRegistry registry = new ExecutorRegistry()) {
+            ManagedExecutor executor = registry.register("small", 1, 1, BackpressurePolicy.ABORT);
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+            try {
+                executor.execute(() -> await(release));
+            } catch (RejectedExecutionException expected) {
+                // the single thread is busy and the queue is full
+            }
+            release.countDown();
+
+            assertThat(executor.metrics().getRejectedTasks(), is(equalTo(1L)));
+        }
+    }
+
+    @Test
+    public void shouldRejectBlockedSubmissionsOnceThePoolShutsDown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorRegistry registry = new ExecutorRegistry();
+        ManagedExecutor executor = registry.register("blocking", 1, 1, BackpressurePolicy.BLOCK);
+        fillPool(executor, release);
+        CompletableFuture<Void> blocked = new CompletableFuture<>();
+        Thread submitter = new Thread(() -> {
+            try {
+                executor.execute(() -> {
+                });
+                blocked.complete(null);
+            } catch (RuntimeException e) {
+                blocked.completeExceptionally(e);
+            }
+        });
+        submitter.start();
+        // parked in the put on the full queue
+        while (submitter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        assertThat(blocked.isDone(), is(false));
+        assertThat(executor.metrics().getRejectedTasks(), is(equalTo(0L)));
+
+        executor.shutdown();
+        release.countDown();
+
+        try {
+            blocked.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertThat(e.getCause() instanceof RejectedExecutionException, is(true));
+        }
+        assertThat(registry.shutdown(Duration.ofSeconds(5)), is(true));
+    }
+
+    @Test
+    public void shouldRunOnTheCallerWhileLiveAndRejectOnceShutDown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorRegistry registry = new ExecutorRegistry();
+        ManagedExecutor executor = registry.register("caller", 1, 1, BackpressurePolicy.CALLER_RUNS);
+        fillPool(executor, release);
+        String caller = Thread.currentThread().getName();
+        CompletableFuture<String> ranOn = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+
+        assertThat(ranOn.getNow(null), is(equalTo(caller)));
+        assertThat(executor.metrics().getRejectedTasks(), is(equalTo(0L)));
+
+        executor.shutdown();
+        release.countDown();
+        try {
+            executor.execute(() -> {
+            });
+            throw new AssertionError("expected RejectedExecutionException");
+        } catch (RejectedExecutionException expected) {
+            // not dropped silently
+        }
+        assertThat(executor.metrics().getRejectedTasks(), is(equalTo(1L)));
+        assertThat(registry.shutdown(Duration.ofSeconds(5)), is(true));
+    }
+
+    @Test
+    public void shouldReportPercentilesWithinAFactorOfTwo() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertThat(histogram.count(), is(equalTo(1000L)));
+        assertThat(histogram.mean(), is(equalTo(500_500L)));
+        assertThat(histogram.max(), is(equalTo(1_000_000L)));
+        assertThat(histogram.percentile(50) >= 500_000 && histogram.percentile(50) < 1_000_000, is(true));
+        assertThat(histogram.percentile(100), is(equalTo(1_000_000L)));
+        assertThat(new LatencyHistogram().percentile(99), is(equalTo(0L)));
+    }
+
+    /**
+     * Occupies the single worker until release is counted down and fills the queue of one.
+     */
+    private static void fillPool(ManagedExecutor executor, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+        executor.execute(() -> await(release));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import org.junit.Test;
+
+import javax.script.Bindings;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+public class ExpressionTest {
+
+    private static final List<String> EXPRESSIONS = Arrays.asList(
+            "1 + 2 * 3", "(1 + 2) * 3", "7 / 2", "7 % 3", "-7 % 7", "-0", "0 * -1", "- -3", "+4 - 10",
+            "0.5 + 0", "1.5 * 2", "2147483647 + 1", "-2147483647 - 2", "a * b - c", "a * b", "b % 3",
+            "c + c", "(a - b) * (b - a) / 2", "-a", "b % a", "0 % b", "a / b");
+
+    private static Map<String, Object> bindings() {
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("a", 0);
+        bindings.put("b", -3);
+        bindings.put("c", Integer.MAX_VALUE);
+        return bindings;
+    }
+
+    @Test
+    public void shouldRespectPrecedenceAndParentheses() throws Exception {
+        assertThat(Expression.parse("1 + 2 * 3").eval(bindings()), is(equalTo(7)));
+        assertThat(Expression.parse("(1 + 2) * 3").eval(bindings()), is(equalTo(9)));
+        assertThat(Expression.parse("10 - 4 - 3").eval(bindings()), is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldEvaluateDivisionAndDecimalsOnDoubles() throws Exception {
+        assertThat(Expression.parse("7 / 2").isIntegral(), is(false));
+        assertThat(Expression.parse("7 / 2").eval(bindings()), is(equalTo(3.5)));
+        assertThat(Expression.parse("1.5 * 2").eval(bindings()), is(equalTo(3.0)));
+    }
+
+    @Test
+    public void shouldFallBackToDoubleOnOverflow() throws Exception {
+        assertThat(Expression.parse("c + 1").eval(bindings()), is(equalTo(2147483648.0)));
+    }
+
+    @Test
+    public void shouldReturnNegativeZeroLikeJavaScript() throws Exception {
+        assertThat(Expression.parse("-0").eval(bindings()), is(equalTo(-0.0)));
+        assertThat(Expression.parse("a * b").eval(bindings()), is(equalTo(-0.0)));
+        assertThat(Expression.parse("b % 3").eval(bindings()), is(equalTo(-0.0)));
+        assertThat(Expression.parse("0 - 0").eval(bindings()), is(equalTo(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectLiteralsWithLeadingZero() throws Exception {
+        Expression.parse("010 + 1");
+    }
+
+    @Test
+    public void shouldLeaveOctalLiteralsToTheScriptEngine() throws Exception {
+        ExpressionEngine engine = new ExpressionEngine(null);
+        assertThat(engine.expression("010 + 1").isPresent(), is(false));
+        assertThat(engine.expression("0 + 1").isPresent(), is(true));
+        assertThat(engine.expression("0.10 + 1").isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldEvaluateColumns() throws Exception {
+        Map<String, int[]> ints = new HashMap<>();
+        ints.put("x", new int[]{1, 2, 3});
+        ints.put("y", new int[]{4, 5, 6});
+        assertThat(Expression.parse("x * y + 1").evalInt(ints), is(equalTo(new int[]{5, 11, 19})));
+
+        Map<String, double[]> doubles = new HashMap<>();
+        doubles.put("x", new double[]{1, 2, 3});
+        assertThat(Expression.parse("x / 2").evalDouble(doubles), is(equalTo(new double[]{0.5, 1, 1.5})));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void shouldNotProduceNegativeZeroInIntColumns() throws Exception {
+        Map<String, int[]> ints = new HashMap<>();
+        ints.put("x", new int[]{1, 0});
+        Expression.parse("-x").evalInt(ints);
+    }
+
+    @Test
+    public void shouldAgreeWithNashorn() throws Exception {
+        ScriptEngine nashorn = new ScriptEngineManager().getEngineByName("nashorn");
+        assumeNotNull(nashorn);
+        for (String source : EXPRESSIONS) {
+            Bindings bindings = nashorn.createBindings();
+            bindings.putAll(bindings());
+            Number expected = (Number) nashorn.eval(source, bindings);
+            Number actual = Expression.parse(source).eval(bindings());
+            assertThat(source, Double.compare(actual.doubleValue(), expected.doubleValue()), is(0));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.shekhargulati.java8_tutorial.ch10;
+
+import org.junit.Test;
+
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+public class ScriptServiceTest {
+
+    private static ScriptService service() {
+        assumeNotNull(new ScriptEngineManager().getEngineByName("nashorn"));
+        return ScriptService.create(1);
+    }
+
+    @Test
+    public void shouldEvaluateWithTheGivenVariables() throws Exception {
+        ScriptService service = service();
+
+        assertThat(((Number) service.eval("a * 2", Collections.singletonMap("a", 21))).intValue(), is(equalTo(42)));
+        assertThat(service.eval("typeof a"), is(equalTo("undefined")));
+    }
+
+    @Test
+    public void shouldNotLeakAssignedGlobalsToTheNextCall() throws Exception {
+        ScriptService service = service();
+        service.eval("leaked = 1; this.other = 2");
+
+        assertThat(service.eval("typeof leaked + ' ' + typeof other"), is(equalTo("undefined undefined")));
+    }
+
+    @Test
+    public void shouldNotLeakDeclaredGlobalsToTheNextCall() throws Exception {
+        ScriptService service = service();
+        service.eval("var leaked = 1; function f() { return 2; }");
+
+        assertThat(service.eval("typeof leaked + ' ' + typeof f"), is(equalTo("undefined undefined")));
+    }
+
+    @Test
+    public void shouldKeepJavaAccessBlockedAfterResettingTheScope() throws Exception {
+        service();
+        ScriptService service = ScriptService.withoutJavaAccess(1);
+        service.eval("var leaked = 1");
+
+        assertThat(service.eval("typeof leaked"), is(equalTo("undefined")));
+        try {
+            service.eval("Java.type('java.lang.System')");
+            throw new AssertionError("Java access should be blocked");
+        } catch (ScriptException | RuntimeException expected) {
+            // ClassNotFoundException wrapped by Nashorn
+        }
+    }
+}
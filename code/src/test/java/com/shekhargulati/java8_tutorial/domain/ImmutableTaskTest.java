@@ -0,0 +1,60 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import com.shekhargulati.java8_tutorial.ch03.Examples;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ImmutableTaskTest {
+
+    @Test
+    public void shouldInternTitlesAndSortTags() throws Exception {
+        Task task = new Task("Read Java 8 in Action", TaskType.READING, LocalDate.of(2015, 9, 20)).addTag("java8").addTag("books");
+
+        ImmutableTask first = ImmutableTask.of(task);
+        ImmutableTask second = ImmutableTask.of(new Task(new String("Read Java 8 in Action"), TaskType.READING));
+
+        assertThat(second.getTitle(), is(sameInstance(first.getTitle())));
+        assertThat(new ArrayList<>(first.getTags()), is(equalTo(Arrays.asList("books", "java8"))));
+        assertThat(first.hasTag("java8"), is(true));
+        assertThat(first, is(equalTo(second)));
+        assertThat(first.hashCode(), is(equalTo(task.hashCode())));
+        assertThat(first.toTask(), is(equalTo(task)));
+    }
+
+    @Test
+    public void shouldKeepANullTag() throws Exception {
+        Task task = new Task("Read Java 8 in Action", TaskType.READING, LocalDate.of(2015, 9, 20)).addTag("java8").addTag(null);
+
+        ImmutableTask immutable = ImmutableTask.of(task);
+
+        assertThat(new ArrayList<>(immutable.getTags()), is(equalTo(Arrays.asList(null, "java8"))));
+        assertThat(immutable.hasTag(null), is(true));
+        assertThat(immutable.hasTag("java8"), is(true));
+        assertThat(immutable.hasTag("books"), is(false));
+        assertThat(immutable.toTask().getTags(), is(equalTo(task.getTags())));
+    }
+
+    @Test
+    public void shouldFindTheSameDistinctTasksInParallel() throws Exception {
+        List<ImmutableTask> tasks = getTasks(10_000).stream().
+                map(task -> new Task("task " + (task.getLongId() % 700), task.getType())).
+                map(ImmutableTask::of).
+                collect(toList());
+
+        List<ImmutableTask> distinct = new Examples(true).allDistinctImmutableTasks(tasks);
+
+        assertThat(distinct, is(equalTo(new Examples(false).allDistinctImmutableTasks(tasks))));
+        assertThat(distinct, is(equalTo(tasks.stream().distinct().collect(toList()))));
+    }
+}
@@ -0,0 +1,55 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import com.shekhargulati.java8_tutorial.ch03.Examples;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ObservableTaskCollectionTest {
+
+    private final Examples examples = new Examples();
+
+    @Test
+    public void shouldKeepViewsInSyncWithTheTasks() throws Exception {
+        List<Task> tasks = new ArrayList<>(getTasks(500));
+        ObservableTaskCollection collection = ObservableTaskCollection.of(tasks);
+
+        for (int i = 0; i < 100; i++) {
+            collection.remove(tasks.remove(i));
+        }
+        tasks.get(0).addTag("dashboard");
+        tasks.get(7).addTag("dashboard");
+
+        assertThat((long) collection.count(TaskType.READING), is(equalTo(examples.countAllReadingTasks(tasks))));
+        assertThat(collection.distinctTags().containsAll(examples.allDistinctTags(tasks)), is(true));
+        assertThat(collection.distinctTags().size(), is(equalTo(examples.allDistinctTags(tasks).size())));
+        assertThat(collection.tagFrequency("dashboard"), is(equalTo(2)));
+        assertThat(titles(collection.oldest(TaskType.READING, 10)), is(equalTo(examples.topN(tasks, 10))));
+    }
+
+    @Test
+    public void shouldStopTrackingTagsOfRemovedTasks() throws Exception {
+        Task task = new Task("Read Java 8 in Action", TaskType.READING, LocalDate.of(2015, 7, 1)).addTag("java8");
+        ObservableTaskCollection collection = new ObservableTaskCollection();
+        collection.add(task);
+
+        collection.remove(task);
+        task.addTag("books");
+
+        assertThat(collection.tagFrequency("java8"), is(equalTo(0)));
+        assertThat(collection.tagFrequency("books"), is(equalTo(0)));
+        assertThat(collection.count(TaskType.READING), is(equalTo(0)));
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).collect(toList());
+    }
+}
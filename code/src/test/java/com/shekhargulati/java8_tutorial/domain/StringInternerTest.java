@@ -0,0 +1,72 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class StringInternerTest {
+
+    @Test
+    public void shouldReturnOneCanonicalInstance() throws Exception {
+        StringInterner interner = StringInterner.strong();
+        String first = interner.intern(new String("java8"));
+
+        assertThat(interner.intern(new String("java8")), is(sameInstance(first)));
+        assertThat(StringInterner.shared().intern(new String("java8")), is(sameInstance(StringInterner.shared().intern(new String("java8")))));
+        assertThat(interner.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldReturnOneCanonicalInstanceAcrossThreadsAndStripes() throws Exception {
+        WeakStringInterner interner = new WeakStringInterner(8);
+        List<String> values = IntStream.range(0, 100_000).mapToObj(i -> "tag" + (i % 1_000)).collect(toList());
+
+        Map<String, Set<String>> instances = values.parallelStream()
+                .map(value -> interner.intern(new String(value)))
+                .collect(groupingBy(identity(), mapping(value -> value, toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>())))));
+
+        assertThat(instances.size(), is(equalTo(1_000)));
+        assertThat(instances.values().stream().allMatch(canonical -> canonical.size() == 1), is(true));
+        assertThat(interner.size(), is(equalTo(1_000)));
+    }
+
+    @Test
+    public void shouldOnlyHoldStringsWeaklyInTheSharedInterner() throws Exception {
+        assertThat(StringInterner.shared(), is(sameInstance(WeakStringInterner.INSTANCE)));
+        WeakStringInterner interner = new WeakStringInterner(4);
+        String interned = interner.intern(new String("released"));
+
+        Map<String, WeakReference<String>> stripe = interner.stripeOf(interned);
+
+        // weak keys and weak values, so nothing in the interner keeps the string reachable
+        assertThat(stripe instanceof WeakHashMap, is(true));
+        assertThat(stripe.get(interned).get(), is(sameInstance(interned)));
+    }
+
+    @Test
+    public void shouldNotInternDescriptions() throws Exception {
+        StringInterner interner = StringInterner.strong();
+        new ImmutableTask(1, "title", new String("description"), TaskType.READING, LocalDate.now(), Collections.emptySet(), interner);
+        new ImmutableTask(2, "title", new String("description"), TaskType.READING, LocalDate.now(), Collections.singleton("tag"), interner);
+
+        assertThat(interner.size(), is(equalTo(2)));
+    }
+}
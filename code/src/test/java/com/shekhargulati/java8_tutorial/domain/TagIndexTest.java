@@ -0,0 +1,60 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TagIndexTest {
+
+    private final Task java8Book = new Task("Read Java 8 in Action", TaskType.READING).addTag("java8").addTag("books");
+    private final Task blog = new Task("Write a blog on Java 8 Streams", TaskType.BLOGGING).addTag("blogging").addTag("java8");
+    private final Task talk = new Task("Watch a talk on lambdas", TaskType.READING);
+
+    @Test
+    public void shouldCombineTagAndTypeQueries() throws Exception {
+        TagIndex index = TagIndex.of(Arrays.asList(java8Book, blog, talk));
+
+        assertThat(index.tagged("java8").and(index.ofType(TaskType.READING)).tasks(), is(equalTo(Arrays.asList(java8Book))));
+        assertThat(index.tagged("books").or(index.tagged("blogging")).count(), is(equalTo(2)));
+        assertThat(index.tagged("java8").not().tasks(), is(equalTo(Arrays.asList(talk))));
+        assertThat(index.tagged("unknown").exists(), is(false));
+        assertThat(index.tags(), is(equalTo(new HashSet<>(Arrays.asList("java8", "books", "blogging")))));
+    }
+
+    @Test
+    public void shouldPickUpTagsAddedAfterIndexing() throws Exception {
+        TagIndex index = TagIndex.of(Arrays.asList(java8Book, blog, talk));
+        talk.addTag("java8");
+
+        assertThat(index.tagged("java8").count(), is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldForgetRemovedTasks() throws Exception {
+        TagIndex index = TagIndex.of(Arrays.asList(java8Book, blog, talk));
+
+        assertThat(index.remove(blog), is(true));
+        assertThat(index.remove(blog), is(false));
+        blog.addTag("removed");
+
+        assertThat(index.size(), is(equalTo(2)));
+        assertThat(index.all().tasks(), is(equalTo(Arrays.asList(java8Book, talk))));
+        assertThat(index.tagged("java8").not().tasks(), is(equalTo(Arrays.asList(talk))));
+        assertThat(index.tags(), is(equalTo(new HashSet<>(Arrays.asList("java8", "books")))));
+    }
+
+    @Test
+    public void shouldStopFollowingTagsWhenClosed() throws Exception {
+        TagIndex index = TagIndex.of(Arrays.asList(java8Book, blog, talk));
+        index.close();
+        talk.addTag("java8");
+
+        assertThat(index.tagged("java8").count(), is(equalTo(2)));
+        assertThat(index.size(), is(equalTo(3)));
+    }
+}
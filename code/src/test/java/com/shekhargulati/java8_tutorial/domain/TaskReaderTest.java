@@ -0,0 +1,151 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.shekhargulati.java8_tutorial.utils.DataUtils.getTasks;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TaskReaderTest {
+
+    private final Path file;
+
+    public TaskReaderTest() throws IOException {
+        file = Files.createTempFile("tasks", ".bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldReadBackEveryTaskWritten() throws Exception {
+        List<Task> tasks = new ArrayList<>(getTasks(10_000));
+        tasks.add(new Task("task-1", "Read Java 8 in Action", "Chapters 1 to 5", TaskType.READING, LocalDate.of(1969, 7, 20)).addTag("books"));
+        tasks.add(new Task(UUID.randomUUID().toString(), "Read Java 8 in Action", "Chapters 6 to 10", TaskType.READING, LocalDate.of(1969, 7, 21)));
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 1000)) {
+            tasks.forEach(writer::write);
+        }
+
+        List<Task> loaded = TaskReader.load(file);
+
+        assertThat(loaded.size(), is(equalTo(tasks.size())));
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSameTask(loaded.get(i), tasks.get(i));
+        }
+    }
+
+    @Test
+    public void shouldStreamTasksInOrderWhenSplitForParallelStreams() throws Exception {
+        List<Task> tasks = getTasks(10_000);
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 256)) {
+            tasks.forEach(writer::write);
+        }
+
+        try (TaskReader reader = TaskReader.open(file)) {
+            assertThat(reader.size(), is(equalTo(10_000L)));
+            assertThat(reader.stream().parallel().map(Task::getId).collect(toList()),
+                    is(equalTo(tasks.stream().map(Task::getId).collect(toList()))));
+        }
+    }
+
+    @Test
+    public void shouldReadBackNullTitlesAndDescriptions() throws Exception {
+        List<Task> tasks = Arrays.asList(
+                new Task(1, null, null, TaskType.READING, LocalDate.of(2015, 7, 1)),
+                new Task(2, "Read Java 8 in Action", null, TaskType.READING, LocalDate.of(2015, 7, 2)),
+                new Task(3, null, "no title", TaskType.CODING, LocalDate.of(2015, 7, 3)));
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 2)) {
+            tasks.forEach(writer::write);
+        }
+
+        List<Task> loaded = TaskReader.load(file);
+
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSameTask(loaded.get(i), tasks.get(i));
+        }
+    }
+
+    @Test
+    public void shouldNotWriteAnythingForATaskWithoutCreationDate() throws Exception {
+        Task valid = new Task(1, "Read Java 8 in Action", "Chapters 1 to 5", TaskType.READING, LocalDate.of(2015, 7, 1));
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 10)) {
+            writer.write(valid);
+            try {
+                writer.write(new Task(2, "no date", "no date", TaskType.CODING, null));
+                throw new AssertionError("expected the task to be rejected");
+            } catch (NullPointerException expected) {
+                // rejected before any byte of it was buffered
+            }
+            writer.write(valid);
+        }
+
+        List<Task> loaded = TaskReader.load(file);
+
+        assertThat(loaded.size(), is(equalTo(2)));
+        assertSameTask(loaded.get(1), valid);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectWritesAfterClose() throws Exception {
+        TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 10);
+        writer.close();
+
+        writer.write(new Task(1, "Read Java 8 in Action", "Chapters 1 to 5", TaskType.READING, LocalDate.of(2015, 7, 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailToOpenATruncatedFile() throws Exception {
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 256)) {
+            getTasks(1_000).forEach(writer::write);
+        }
+        try (FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        TaskReader.open(file).close();
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldFailToDecodeACorruptBlock() throws Exception {
+        try (TaskWriter writer = new TaskWriter(FileChannel.open(file, WRITE), 256)) {
+            getTasks(1_000).forEach(writer::write);
+        }
+        byte[] garbage = new byte[64];
+        Arrays.fill(garbage, (byte) 0x7f);
+        try (FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.write(ByteBuffer.wrap(garbage), 4 + 8);
+        }
+
+        try (TaskReader reader = TaskReader.open(file)) {
+            reader.readAll();
+        }
+    }
+
+    private static void assertSameTask(Task actual, Task expected) {
+        assertThat(actual.getId(), is(equalTo(expected.getId())));
+        assertThat(actual.getLongId(), is(equalTo(expected.getLongId())));
+        assertThat(actual.getTitle(), is(equalTo(expected.getTitle())));
+        assertThat(actual.getDescription(), is(equalTo(expected.getDescription())));
+        assertThat(actual.getType(), is(equalTo(expected.getType())));
+        assertThat(actual.getCreatedOn(), is(equalTo(expected.getCreatedOn())));
+        assertThat(actual.getTags(), is(equalTo(expected.getTags())));
+    }
+}
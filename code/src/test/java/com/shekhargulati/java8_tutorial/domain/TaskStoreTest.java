@@ -0,0 +1,34 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TaskStoreTest {
+
+    @Test
+    public void shouldKeepLongAndStringIds() throws Exception {
+        LocalDate today = LocalDate.of(2015, 12, 1);
+        TaskStore store = new TaskStore(1);
+        store.add(new Task(7L, "Read Java 8 in Action", "Read Java 8 in Action", TaskType.READING, today));
+        store.add(new Task("task-1", "Write blog", "Write blog on Java 8", TaskType.BLOGGING, today).addTag("java8"));
+        store.add(new Task("0042", "Read Effective Java", "Read Effective Java", TaskType.READING, today));
+
+        Task generated = store.get(0);
+        assertThat(generated.hasLongId(), is(true));
+        assertThat(generated.getLongId(), is(equalTo(7L)));
+        assertThat(store.id(0), is(equalTo("7")));
+
+        Task named = store.get(1);
+        assertThat(named.getId(), is(equalTo("task-1")));
+        assertThat(store.longId(1), is(equalTo(named.getLongId())));
+        assertThat(named.getTags().contains("java8"), is(true));
+
+        assertThat(store.get(2).getId(), is(equalTo("0042")));
+        assertThat(store.id(2), is(equalTo("0042")));
+    }
+}
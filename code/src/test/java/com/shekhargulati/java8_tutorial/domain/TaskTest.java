@@ -0,0 +1,61 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TaskTest {
+
+    @After
+    public void tearDown() throws Exception {
+        Task.setIdGenerator(IdGenerator.timeOrdered());
+    }
+
+    @Test
+    public void shouldParseDecimalIds() throws Exception {
+        Task task = new Task("42", "Read Java 8 in Action", TaskType.READING);
+
+        assertThat(task.getLongId(), is(equalTo(42L)));
+        assertThat(task.getId(), is(equalTo("42")));
+    }
+
+    @Test
+    public void shouldTellWhetherTheIdIsALong() throws Exception {
+        assertThat(new Task("42", "title", TaskType.READING).hasLongId(), is(true));
+        assertThat(new Task(42L, "title", "title", TaskType.READING, null).hasLongId(), is(true));
+        assertThat(new Task("title", TaskType.READING).hasLongId(), is(true));
+        assertThat(new Task("042", "title", TaskType.READING).hasLongId(), is(false));
+        assertThat(new Task("task-1", "title", TaskType.READING).hasLongId(), is(false));
+        assertThat(new Task("", "title", TaskType.READING).hasLongId(), is(false));
+    }
+
+    @Test
+    public void shouldDeriveTheSameLongForTheSameNonDecimalId() throws Exception {
+        Task.setIdGenerator(() -> {
+            throw new AssertionError("no id should be generated for a task that has one");
+        });
+        String uuid = UUID.randomUUID().toString();
+
+        long first = new Task(uuid, "Read Java 8 in Action", TaskType.READING).getLongId();
+
+        assertThat(new Task(uuid, "Read Java 8 in Action", TaskType.READING).getLongId(), is(equalTo(first)));
+        assertThat(first < 0, is(true));
+        assertThat(new Task("042", "title", TaskType.READING).getLongId() < 0, is(true));
+        assertThat(new Task("task-1", "title", TaskType.READING).getLongId() == new Task("task-2", "title", TaskType.READING).getLongId(), is(false));
+    }
+
+    @Test
+    public void shouldGenerateIdsForTasksCreatedWithoutOne() throws Exception {
+        Task.setIdGenerator(() -> 7L);
+
+        Task task = new Task("Read Java 8 in Action", TaskType.READING);
+
+        assertThat(task.getLongId(), is(equalTo(7L)));
+        assertThat(task.getId(), is(equalTo("7")));
+    }
+}
@@ -0,0 +1,41 @@
+package com.shekhargulati.java8_tutorial.domain;
+
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void shouldGenerateUniqueIdsAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(System::currentTimeMillis, 4);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertThat(ids.size(), is(equalTo(200_000)));
+    }
+
+    @Test
+    public void shouldOrderIdsByTimeAndKeepIncreasingWhenASequenceOverflows() throws Exception {
+        AtomicLong now = new AtomicLong(TimeOrderedIdGenerator.EPOCH_MILLIS + 1000);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(now::get, 1);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id > previous, is(true));
+            previous = id;
+        }
+        now.addAndGet(60_000);
+
+        assertThat(generator.nextId() > previous, is(true));
+    }
+}
@@ -0,0 +1,124 @@
+package com.shekhargulati.java8_tutorial.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MappedLinesTest {
+
+    private final Path file;
+
+    public MappedLinesTest() throws IOException {
+        file = Files.createTempFile("lines", ".txt");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldReadLinesLikeFilesLines() throws Exception {
+        assertSameLines("first\nsecond\nthird\n");
+        assertSameLines("first\r\nsecond\r\n\r\nfourth\r\n");
+        assertSameLines("no trailing newline\nlast");
+        assertSameLines("\n\n");
+        assertSameLines("caf\u00e9 \u20ac\n\u65e5\u672c\n");
+        assertSameLines("old mac\rline\r\rmixed\r\nend\r");
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldFailOnMalformedUtf8LikeFilesLines() throws Exception {
+        Files.write(file, new byte[]{'o', 'k', '\n', (byte) 0xC3, '(', '\n'});
+
+        MappedLines.lines(file).collect(toList());
+    }
+
+    @Test
+    public void shouldCloseTheMappingWithTheStream() throws Exception {
+        write("first\nsecond\n");
+        MappedLines mapped = MappedLines.open(file);
+        Stream<String> lines = mapped.lines().onClose(mapped::close);
+        List<CharSequence> sequences = mapped.charSequences().collect(toList());
+
+        lines.close();
+
+        try {
+            mapped.lineCount();
+            throw new AssertionError("expected the closed mapping to be rejected");
+        } catch (IllegalStateException expected) {
+            // unmapped, reading it could crash the JVM
+        }
+        try {
+            sequences.get(0).charAt(0);
+            throw new AssertionError("expected the closed mapping to be rejected");
+        } catch (IllegalStateException expected) {
+            // views over the mapping go with it
+        }
+    }
+
+    @Test
+    public void shouldReadNoLinesFromAnEmptyFile() throws Exception {
+        assertSameLines("");
+    }
+
+    @Test
+    public void shouldReadLinesAcrossRegionBoundaries() throws Exception {
+        String content = IntStream.range(0, 200).mapToObj(i -> "line " + i + (i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r")).collect(Collectors.joining()) + "last";
+        write(content);
+
+        for (int maxRegionSize : new int[]{10, 11, 16, 64}) {
+            MappedLines lines = MappedLines.open(file, maxRegionSize);
+            assertThat(lines.lines().collect(toList()), is(equalTo(filesLines())));
+            assertThat(lines.lines().parallel().collect(toList()), is(equalTo(filesLines())));
+            assertThat(lines.lineCount(), is(equalTo((long) filesLines().size())));
+        }
+    }
+
+    @Test
+    public void shouldKeepLineOrderInParallelStreams() throws Exception {
+        write(IntStream.range(0, 50_000).mapToObj(i -> "the quick brown fox " + i + (i % 2 == 0 ? "\r\n" : "\r")).collect(Collectors.joining()));
+
+        assertThat(MappedLines.lines(file).parallel().collect(toList()), is(equalTo(filesLines())));
+        assertThat(MappedLines.open(file).charSequences().parallel().map(CharSequence::toString).collect(toList()), is(equalTo(filesLines())));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectLinesLongerThanARegion() throws Exception {
+        write("short\nthis line does not fit\n");
+
+        MappedLines.open(file, 8);
+    }
+
+    private void assertSameLines(String content) throws IOException {
+        write(content);
+        MappedLines lines = MappedLines.open(file);
+
+        assertThat(lines.lines().collect(toList()), is(equalTo(filesLines())));
+        assertThat(lines.lineCount(), is(equalTo((long) filesLines().size())));
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> filesLines() throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.collect(toList());
+        }
+    }
+}